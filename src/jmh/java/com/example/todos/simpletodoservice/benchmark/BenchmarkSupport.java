@@ -0,0 +1,72 @@
+package com.example.todos.simpletodoservice.benchmark;
+
+import com.example.todos.simpletodoservice.SimpleTodoServiceApplication;
+import com.example.todos.simpletodoservice.domain.TodoStatus;
+import com.example.todos.simpletodoservice.tenant.TenantContext;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+/* Boots the application without a web server on a private H2 database and bulk-loads rows over plain JDBC */
+final class BenchmarkSupport {
+
+    private static final int INSERT_CHUNK = 10_000;
+
+    private BenchmarkSupport() {
+    }
+
+    static ConfigurableApplicationContext startContext(String... extraArgs) {
+        SpringApplication application = new SpringApplication(SimpleTodoServiceApplication.class);
+        application.setWebApplicationType(WebApplicationType.NONE);
+        List<String> args = new ArrayList<>(List.of(
+                "--spring.datasource.url=jdbc:h2:mem:bench-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1",
+                "--todos.due-date-timer.enabled=false",
+                "--todos.past-due-sweeper.enabled=false",
+                "--logging.level.root=WARN"));
+        args.addAll(List.of(extraArgs));
+        return application.run(args.toArray(String[]::new));
+    }
+
+    /* Every third row is DONE, the others NOT_DONE; dueAt is spread over the year ahead (or behind, when overdue) */
+    static void seed(JdbcTemplate jdbc, int rows, boolean overdue) {
+        seed(jdbc, TenantContext.DEFAULT_TENANT, rows, overdue);
+    }
+
+    static void seed(JdbcTemplate jdbc, String tenantId, int rows, boolean overdue) {
+        Instant now = Instant.now();
+        for (int start = 0; start < rows; start += INSERT_CHUNK) {
+            int end = Math.min(rows, start + INSERT_CHUNK);
+            List<Integer> chunk = Stream.iterate(start, i -> i + 1).limit(end - start).toList();
+            jdbc.batchUpdate("""
+                            insert into todo_items (id, tenant_id, description, status, due_at, created_at, version)
+                            values (?, ?, ?, ?, ?, ?, 0)
+                            """,
+                    chunk,
+                    chunk.size(),
+                    (PreparedStatement ps, Integer i) -> bind(ps, tenantId, i, now, overdue));
+        }
+    }
+
+    private static void bind(PreparedStatement ps, String tenantId, int i, Instant now, boolean overdue) throws SQLException {
+        Duration offset = Duration.ofMinutes(1 + (i % 525_600));
+        Instant dueAt = overdue ? now.minus(offset) : now.plus(offset);
+        ps.setObject(1, UUID.randomUUID());
+        ps.setString(2, tenantId);
+        ps.setString(3, "benchmark item " + i);
+        ps.setString(4, (i % 3 == 0 ? TodoStatus.DONE : TodoStatus.NOT_DONE).name());
+        ps.setObject(5, OffsetDateTime.ofInstant(dueAt, ZoneOffset.UTC));
+        ps.setObject(6, OffsetDateTime.ofInstant(now, ZoneOffset.UTC));
+    }
+}
@@ -0,0 +1,73 @@
+package com.example.todos.simpletodoservice.benchmark;
+
+import com.example.todos.simpletodoservice.domain.TodoItem;
+import com.example.todos.simpletodoservice.dto.TodoResponse;
+import com.example.todos.simpletodoservice.mapper.TodoMapper;
+import com.example.todos.simpletodoservice.repository.TodoItemRepository;
+import com.example.todos.simpletodoservice.repository.TodoQuery;
+import com.example.todos.simpletodoservice.tenant.TenantContext;
+import jakarta.persistence.EntityManager;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/*
+ * One keyset page read in a read-only transaction, loaded as managed entities and mapped (the previous list path)
+ * versus projected straight into TodoResponse. Run with -prof gc to compare gc.alloc.rate.norm (bytes per page).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class ListProjectionBenchmark {
+
+    private static final int ROWS = 100_000;
+
+    @Param({"100", "1000"})
+    public int pageSize;
+
+    private ConfigurableApplicationContext context;
+    private EntityManager entityManager;
+    private TodoItemRepository repository;
+    private TransactionTemplate readOnly;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkSupport.startContext();
+        BenchmarkSupport.seed(context.getBean(JdbcTemplate.class), ROWS, false);
+        entityManager = context.getBean(EntityManager.class);
+        repository = context.getBean(TodoItemRepository.class);
+        readOnly = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        readOnly.setReadOnly(true);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<TodoResponse> entitiesMapped() {
+        return readOnly.execute(status -> entityManager
+                .createQuery("select t from TodoItem t where t.tenantId = :tenant order by t.dueAt, t.id", TodoItem.class)
+                .setParameter("tenant", TenantContext.DEFAULT_TENANT)
+                .setMaxResults(pageSize)
+                .getResultList()
+                .stream()
+                .map(TodoMapper::toResponse)
+                .toList());
+    }
+
+    @Benchmark
+    public List<TodoResponse> projected() {
+        return readOnly.execute(status -> repository.findPage(TenantContext.DEFAULT_TENANT, TodoQuery.of(true), null, Instant.now(), pageSize));
+    }
+}
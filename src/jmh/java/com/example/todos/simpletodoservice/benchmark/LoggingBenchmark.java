@@ -0,0 +1,103 @@
+package com.example.todos.simpletodoservice.benchmark;
+
+import ch.qos.logback.classic.AsyncAppender;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.encoder.PatternLayoutEncoder;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.Appender;
+import ch.qos.logback.core.FileAppender;
+import com.example.todos.simpletodoservice.config.OperationLogProperties;
+import com.example.todos.simpletodoservice.logging.OperationLog;
+import org.openjdk.jmh.annotations.*;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Instant;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/*
+ * Cost of request-path logging under contention: an unsampled INFO line per call (the previous
+ * TodoService behaviour) versus the sampled OperationLog, each through a synchronous file appender
+ * and through AsyncAppender configured as in logback-spring.xml.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(8)
+@Fork(1)
+public class LoggingBenchmark {
+
+    private static final String PER_CALL_LOGGER = "benchmark.per-call";
+
+    @Param({"sync", "async"})
+    public String appender;
+
+    private LoggerContext context;
+    private Appender<ILoggingEvent> target;
+    private Logger perCall;
+    private OperationLog operationLog;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = (LoggerContext) LoggerFactory.getILoggerFactory();
+
+        PatternLayoutEncoder encoder = new PatternLayoutEncoder();
+        encoder.setContext(context);
+        encoder.setPattern("%d{yyyy-MM-dd'T'HH:mm:ss.SSSXXX} %5p [%t] %logger : %m %kvp%n");
+        encoder.start();
+
+        FileAppender<ILoggingEvent> file = new FileAppender<>();
+        file.setContext(context);
+        file.setName("FILE");
+        file.setFile("target/jmh-logging/" + appender + ".log");
+        file.setAppend(false);
+        file.setEncoder(encoder);
+        file.start();
+        target = file;
+
+        if ("async".equals(appender)) {
+            AsyncAppender async = new AsyncAppender();
+            async.setContext(context);
+            async.setName("ASYNC_FILE");
+            async.setQueueSize(8192);
+            async.setDiscardingThreshold(0);
+            async.setNeverBlock(true);
+            async.setIncludeCallerData(false);
+            async.addAppender(file);
+            async.start();
+            target = async;
+        }
+
+        attach(PER_CALL_LOGGER);
+        attach(OperationLog.LOGGER_NAME);
+        perCall = LoggerFactory.getLogger(PER_CALL_LOGGER);
+        operationLog = new OperationLog(new OperationLogProperties(0.01, 1.0, Map.of()));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.getLogger(PER_CALL_LOGGER).detachAndStopAllAppenders();
+        context.getLogger(OperationLog.LOGGER_NAME).detachAndStopAllAppenders();
+    }
+
+    @Benchmark
+    public void infoPerCall() {
+        perCall.info("Creating todo item with dueAt={}", Instant.EPOCH);
+    }
+
+    @Benchmark
+    public void sampledOperationLog() {
+        operationLog.completed("create", UUID.randomUUID(), "success", 250_000, false);
+    }
+
+    private void attach(String name) {
+        ch.qos.logback.classic.Logger logger = context.getLogger(name);
+        logger.setLevel(ch.qos.logback.classic.Level.INFO);
+        logger.setAdditive(false);
+        logger.addAppender(target);
+    }
+}
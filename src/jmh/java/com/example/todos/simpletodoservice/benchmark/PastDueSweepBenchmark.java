@@ -0,0 +1,54 @@
+package com.example.todos.simpletodoservice.benchmark;
+
+import com.example.todos.simpletodoservice.scheduling.PastDueSweeper;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.concurrent.TimeUnit;
+
+/* One complete background sweep over a table where every NOT_DONE row is overdue */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class PastDueSweepBenchmark {
+
+    @Param({"10000", "100000"})
+    public int rows;
+
+    @Param({"500", "5000"})
+    public int batchSize;
+
+    private ConfigurableApplicationContext context;
+    private JdbcTemplate jdbc;
+    private PastDueSweeper sweeper;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkSupport.startContext(
+                "--todos.past-due-sweeper.enabled=true",
+                "--todos.past-due-sweeper.interval=PT24H",
+                "--todos.past-due-sweeper.batch-size=" + batchSize);
+        jdbc = context.getBean(JdbcTemplate.class);
+        BenchmarkSupport.seed(jdbc, rows, true);
+        sweeper = context.getBean(PastDueSweeper.class);
+    }
+
+    @Setup(Level.Iteration)
+    public void resetStatuses() {
+        jdbc.update("update todo_items set status = 'NOT_DONE' where status = 'PAST_DUE'");
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public int sweep() {
+        return sweeper.sweep();
+    }
+}
@@ -0,0 +1,95 @@
+package com.example.todos.simpletodoservice.benchmark;
+
+import com.example.todos.simpletodoservice.domain.TodoStatus;
+import com.example.todos.simpletodoservice.search.InvertedIndex;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/*
+ * InvertedIndex on its own, over synthetic descriptions of three words from a VOCABULARY_SIZE word vocabulary.
+ * buildIndex is the cost of the startup rebuild per document count (single shot); the query benchmarks take one page
+ * for an exact term, a short prefix that expands to many terms, and a two-term AND.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class SearchIndexBenchmark {
+
+    private static final int VOCABULARY_SIZE = 20_000;
+    private static final int MIN_PREFIX_LENGTH = 2;
+    private static final int PAGE_SIZE = 100;
+
+    @Param({"100000", "1000000"})
+    public int documents;
+
+    private List<UUID> ids;
+    private List<String> descriptions;
+    private InvertedIndex index;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Random random = new Random(42);
+        ids = new ArrayList<>(documents);
+        descriptions = new ArrayList<>(documents);
+        for (int i = 0; i < documents; i++) {
+            ids.add(new UUID(random.nextLong(), random.nextLong()));
+            descriptions.add(word(random.nextInt(VOCABULARY_SIZE)) + " " + word(random.nextInt(VOCABULARY_SIZE))
+                    + " " + word(random.nextInt(VOCABULARY_SIZE)));
+        }
+        index = build();
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    @Warmup(iterations = 2)
+    @Measurement(iterations = 5)
+    public InvertedIndex buildIndex() {
+        return build();
+    }
+
+    @Benchmark
+    public List<InvertedIndex.Document> exactTerm() {
+        return index.search(word(1234), document -> true, PAGE_SIZE);
+    }
+
+    @Benchmark
+    public List<InvertedIndex.Document> shortPrefix() {
+        return index.search("ta", document -> true, PAGE_SIZE);
+    }
+
+    @Benchmark
+    public List<InvertedIndex.Document> twoTermPrefixAnd() {
+        return index.search("tab ka", document -> document.status() == TodoStatus.NOT_DONE, PAGE_SIZE);
+    }
+
+    private InvertedIndex build() {
+        InvertedIndex built = new InvertedIndex(MIN_PREFIX_LENGTH);
+        Instant dueAt = Instant.parse("2030-01-01T00:00:00Z");
+        for (int i = 0; i < documents; i++) {
+            built.upsert(ids.get(i), 0, descriptions.get(i), TodoStatus.NOT_DONE, dueAt.plusSeconds(i));
+        }
+        return built;
+    }
+
+    /* Pronounceable words of two to four syllables, distinct per n */
+    private static String word(int n) {
+        String[] syllables = {"ta", "ka", "mi", "ro", "su", "ne", "bo", "li", "da", "fe", "gu", "po", "ze", "hi",
+                "ju", "wa"};
+        StringBuilder word = new StringBuilder();
+        do {
+            word.append(syllables[n % syllables.length]);
+            n /= syllables.length;
+        } while (n > 0);
+        return word.append('b').toString();
+    }
+}
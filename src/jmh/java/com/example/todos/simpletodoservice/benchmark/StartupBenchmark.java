@@ -0,0 +1,43 @@
+package com.example.todos.simpletodoservice.benchmark;
+
+import com.example.todos.simpletodoservice.SimpleTodoServiceApplication;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.concurrent.TimeUnit;
+
+/*
+ * Cold start of the full web application, default boot versus the prod profile.
+ * Every fork starts the application exactly once, so each sample is a start in a fresh JVM;
+ * results land in target/jmh-result.json with the other benchmarks.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 0)
+@Measurement(iterations = 1)
+@Fork(10)
+public class StartupBenchmark {
+
+    @Param({"default", "prod"})
+    public String profile;
+
+    private ConfigurableApplicationContext context;
+
+    @Benchmark
+    public ConfigurableApplicationContext start() {
+        context = SpringApplication.run(SimpleTodoServiceApplication.class,
+                "--server.port=0",
+                "--spring.profiles.active=" + profile,
+                "--logging.level.root=WARN");
+        return context;
+    }
+
+    @TearDown(Level.Invocation)
+    public void stop() {
+        if (context != null) {
+            context.close();
+        }
+    }
+}
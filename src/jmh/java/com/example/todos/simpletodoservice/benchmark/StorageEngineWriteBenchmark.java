@@ -0,0 +1,46 @@
+package com.example.todos.simpletodoservice.benchmark;
+
+import com.example.todos.simpletodoservice.domain.TodoItem;
+import com.example.todos.simpletodoservice.service.TodoService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.time.Instant;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/* Durable create throughput of the JPA (H2) engine versus the write-ahead-log engine under concurrent writers */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(8)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class StorageEngineWriteBenchmark {
+
+    @Param({"jpa", "wal"})
+    public String engine;
+
+    private ConfigurableApplicationContext context;
+    private TodoService todoService;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = "wal".equals(engine)
+                ? BenchmarkSupport.startContext("--spring.profiles.active=wal",
+                        "--todos.storage.wal.directory=target/jmh-wal/" + UUID.randomUUID())
+                : BenchmarkSupport.startContext();
+        todoService = context.getBean(TodoService.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public TodoItem create() {
+        return todoService.create("benchmark item", Instant.now().plusSeconds(3600));
+    }
+}
@@ -0,0 +1,90 @@
+package com.example.todos.simpletodoservice.benchmark;
+
+import com.example.todos.simpletodoservice.domain.TodoStatus;
+import com.example.todos.simpletodoservice.dto.CursorPage;
+import com.example.todos.simpletodoservice.dto.TodoResponse;
+import com.example.todos.simpletodoservice.repository.TodoStore;
+import com.example.todos.simpletodoservice.service.TodoService;
+import com.example.todos.simpletodoservice.tenant.TenantContext;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/*
+ * Skewed tenants: one large tenant next to SMALL_TENANTS tenants of SMALL_TENANT_ROWS items each, every open item
+ * overdue. With tenant-leading indexes the first list page and the next overdue slice of a small tenant should cost
+ * the same whatever the size of the large one; compare the small* scores across largeTenantRows.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class TenantSkewBenchmark {
+
+    private static final String LARGE_TENANT = "large";
+    private static final String SMALL_TENANT = "small-0";
+    private static final int SMALL_TENANTS = 100;
+    private static final int SMALL_TENANT_ROWS = 200;
+    private static final int SWEEP_BATCH = 500;
+
+    @Param({"10000", "200000"})
+    public int largeTenantRows;
+
+    private ConfigurableApplicationContext context;
+    private TodoService service;
+    private TodoStore store;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkSupport.startContext();
+        JdbcTemplate jdbc = context.getBean(JdbcTemplate.class);
+        BenchmarkSupport.seed(jdbc, LARGE_TENANT, largeTenantRows, true);
+        for (int i = 0; i < SMALL_TENANTS; i++) {
+            BenchmarkSupport.seed(jdbc, "small-" + i, SMALL_TENANT_ROWS, true);
+        }
+        service = context.getBean(TodoService.class);
+        store = context.getBean(TodoStore.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public CursorPage<TodoResponse> smallTenantFirstPage() {
+        return asTenant(SMALL_TENANT, () -> service.getItems(false, null, 100));
+    }
+
+    @Benchmark
+    public CursorPage<TodoResponse> largeTenantFirstPage() {
+        return asTenant(LARGE_TENANT, () -> service.getItems(false, null, 100));
+    }
+
+    @Benchmark
+    public List<UUID> smallTenantOverdueSlice() {
+        return store.findOverdueIds(SMALL_TENANT, TodoStatus.NOT_DONE, Instant.now(), SWEEP_BATCH);
+    }
+
+    @Benchmark
+    public List<UUID> largeTenantOverdueSlice() {
+        return store.findOverdueIds(LARGE_TENANT, TodoStatus.NOT_DONE, Instant.now(), SWEEP_BATCH);
+    }
+
+    private static <T> T asTenant(String tenantId, Supplier<T> work) {
+        TenantContext.set(tenantId);
+        try {
+            return work.get();
+        } finally {
+            TenantContext.clear();
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package com.example.todos.simpletodoservice.benchmark;
+
+import com.example.todos.simpletodoservice.domain.TodoItem;
+import com.example.todos.simpletodoservice.dto.TodoResponse;
+import com.example.todos.simpletodoservice.mapper.TodoMapper;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.Instant;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TodoMapperBenchmark {
+
+    private TodoItem item;
+
+    @Setup
+    public void setUp() {
+        item = new TodoItem("Benchmark the mapper", Instant.now().plusSeconds(3600));
+        item.setId(UUID.randomUUID());
+        item.setCreatedAt(Instant.now());
+        item.setUpdatedAt(Instant.now());
+    }
+
+    @Benchmark
+    public TodoResponse toResponse() {
+        return TodoMapper.toResponse(item);
+    }
+}
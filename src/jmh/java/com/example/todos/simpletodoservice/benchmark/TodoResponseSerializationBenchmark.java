@@ -0,0 +1,49 @@
+package com.example.todos.simpletodoservice.benchmark;
+
+import com.example.todos.simpletodoservice.domain.TodoStatus;
+import com.example.todos.simpletodoservice.dto.TodoResponse;
+import org.openjdk.jmh.annotations.*;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/* JSON encoding cost of one list response body, per page size */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TodoResponseSerializationBenchmark {
+
+    @Param({"100", "1000", "10000"})
+    public int size;
+
+    private final JsonMapper mapper = JsonMapper.builder().build();
+    private List<TodoResponse> page;
+
+    @Setup
+    public void setUp() {
+        Instant now = Instant.now();
+        page = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            page.add(new TodoResponse(UUID.randomUUID(),
+                    "benchmark item " + i,
+                    TodoStatus.NOT_DONE,
+                    now,
+                    now,
+                    now.plusSeconds(60L * i),
+                    null,
+                    0L));
+        }
+    }
+
+    @Benchmark
+    public byte[] serializeList() {
+        return mapper.writeValueAsBytes(page);
+    }
+}
@@ -0,0 +1,61 @@
+package com.example.todos.simpletodoservice.benchmark;
+
+import com.example.todos.simpletodoservice.dto.CursorPage;
+import com.example.todos.simpletodoservice.dto.TodoResponse;
+import com.example.todos.simpletodoservice.service.TodoService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.concurrent.TimeUnit;
+
+/* One list page through the full service (read-only transaction, keyset query, DTO projection) against a large table */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class TodoServiceListBenchmark {
+
+    @Param({"10000", "100000", "1000000"})
+    public int rows;
+
+    private ConfigurableApplicationContext context;
+    private TodoService service;
+    private String middleCursor;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkSupport.startContext();
+        BenchmarkSupport.seed(context.getBean(JdbcTemplate.class), rows, false);
+        service = context.getBean(TodoService.class);
+
+        /* walk to roughly the middle of the table once so deep pages are measured too */
+        CursorPage<TodoResponse> page = service.getItems(true, null, 1000);
+        for (int i = 1; i < rows / 2000 && page.nextCursor() != null; i++) {
+            page = service.getItems(true, page.nextCursor(), 1000);
+        }
+        middleCursor = page.nextCursor();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public CursorPage<TodoResponse> firstPageOpenItems() {
+        return service.getItems(false, null, 100);
+    }
+
+    @Benchmark
+    public CursorPage<TodoResponse> firstPageAllItems() {
+        return service.getItems(true, null, 100);
+    }
+
+    @Benchmark
+    public CursorPage<TodoResponse> middlePageAllItems() {
+        return service.getItems(true, middleCursor, 100);
+    }
+}
@@ -0,0 +1,104 @@
+package com.example.todos.simpletodoservice.admission;
+
+import com.example.todos.simpletodoservice.config.AdmissionProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/*
+ * Caps the requests in flight in front of TodoService, with a limit that follows latency (a gradient limiter).
+ *
+ * A long-term average of the request latency stands in for the latency without queueing. Every completed request
+ * compares it with its own latency: within rttTolerance times the average the limit may grow by about sqrt(limit),
+ * beyond it the limit shrinks in proportion, down to half per step. Steps are smoothed and kept in
+ * [minLimit, maxLimit]. So when the connection pool or the database saturates, latency rises and the limit comes down
+ * before queues build up, and excess requests are rejected quickly instead of all of them getting slow.
+ */
+@Component
+public class AdaptiveConcurrencyLimiter {
+
+    /* samples covered by the long-term latency average */
+    private static final double LONG_WINDOW = 100;
+
+    private final AdmissionProperties properties;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final Counter rejected;
+    private volatile int limit;
+    /* guarded by this */
+    private double estimate;
+    private double longRtt;
+
+    public AdaptiveConcurrencyLimiter(AdmissionProperties properties, MeterRegistry meterRegistry) {
+        if (properties.minLimit() < 1 || properties.maxLimit() < properties.minLimit()) {
+            throw new IllegalArgumentException("limits must satisfy 1 <= minLimit <= maxLimit");
+        }
+        this.properties = properties;
+        this.limit = clamp(properties.initialLimit());
+        this.estimate = limit;
+        this.rejected = Counter.builder("todos.admission.rejected")
+                .description("Requests rejected with 429 before reaching TodoService")
+                .tag("reason", "concurrency")
+                .tag("budget", "any")
+                .register(meterRegistry);
+        Gauge.builder("todos.admission.limit", this, AdaptiveConcurrencyLimiter::limit)
+                .description("Current adaptive concurrency limit")
+                .register(meterRegistry);
+        Gauge.builder("todos.admission.in_flight", inFlight, AtomicInteger::get)
+                .description("Admitted requests in flight")
+                .register(meterRegistry);
+    }
+
+    public boolean tryAcquire() {
+        while (true) {
+            int current = inFlight.get();
+            if (current >= limit) {
+                rejected.increment();
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    /* Ends a permit and feeds its latency to the limit */
+    public void release(long rttNanos) {
+        int inFlightBefore = inFlight.getAndDecrement();
+        if (rttNanos > 0) {
+            sample(rttNanos, inFlightBefore);
+        }
+    }
+
+    /* Ends a permit without a latency sample, e.g. one held by a push stream or a streamed export */
+    public void release() {
+        inFlight.decrementAndGet();
+    }
+
+    public int limit() {
+        return limit;
+    }
+
+    public int inFlight() {
+        return inFlight.get();
+    }
+
+    private synchronized void sample(long rttNanos, int inFlightAtCompletion) {
+        longRtt = longRtt == 0 ? rttNanos : longRtt + (rttNanos - longRtt) / LONG_WINDOW;
+        double gradient = Math.max(0.5, Math.min(1.0, properties.rttTolerance() * longRtt / rttNanos));
+        /* the limit is not what holds latency down while most of it is unused, so it is not grown then */
+        if (gradient == 1.0 && inFlightAtCompletion < limit / 2) {
+            return;
+        }
+        double target = gradient < 1.0 ? limit * gradient : limit + Math.sqrt(limit);
+        estimate = estimate * (1 - properties.smoothing()) + target * properties.smoothing();
+        limit = clamp((int) Math.round(estimate));
+        estimate = Math.max(properties.minLimit(), Math.min(properties.maxLimit(), estimate));
+    }
+
+    private int clamp(int value) {
+        return Math.max(properties.minLimit(), Math.min(properties.maxLimit(), value));
+    }
+}
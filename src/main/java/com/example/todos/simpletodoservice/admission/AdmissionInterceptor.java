@@ -0,0 +1,105 @@
+package com.example.todos.simpletodoservice.admission;
+
+import com.example.todos.simpletodoservice.config.AdmissionProperties;
+import com.example.todos.simpletodoservice.exception.TooManyRequestsException;
+import jakarta.servlet.DispatcherType;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpMethod;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+
+import java.security.Principal;
+import java.time.Duration;
+
+import static com.example.todos.simpletodoservice.constants.ErrorMessages.CONCURRENCY_LIMIT_EXCEEDED;
+import static com.example.todos.simpletodoservice.constants.ErrorMessages.RATE_LIMIT_EXCEEDED;
+
+/*
+ * Admits a request only when the concurrency limiter has a permit and the client's read or write budget a token;
+ * otherwise it is rejected with TooManyRequestsException (429 + Retry-After) before any work is done. The permit is
+ * taken first, so a request turned away because the service is busy does not spend the client's budget.
+ * The client is the authenticated principal, or the remote address without one. Nothing the caller sends in a header
+ * picks the bucket, so a caller cannot get a fresh budget by making up a new id; behind a proxy the remote address
+ * has to be resolved from its forwarded headers (server.forward-headers-strategy).
+ * The permit is held until the response is complete. An export keeps it while its body streams, since it holds a
+ * transaction and a pooled connection all along, and gives it back on the async dispatch that completes it; only
+ * push streams (SSE), which hold no connection, give it back as soon as they are handed off.
+ * Async re-dispatches were already admitted and pass through.
+ */
+public class AdmissionInterceptor implements AsyncHandlerInterceptor {
+
+    private static final String ADMITTED_AT = AdmissionInterceptor.class.getName() + ".admittedAt";
+    /* set instead of ADMITTED_AT while an async body holds the permit; its duration is no latency sample */
+    private static final String HELD_ASYNC = AdmissionInterceptor.class.getName() + ".heldAsync";
+
+    private final AdmissionProperties properties;
+    private final ClientRateLimiter rateLimiter;
+    private final AdaptiveConcurrencyLimiter concurrencyLimiter;
+
+    public AdmissionInterceptor(AdmissionProperties properties,
+                                ClientRateLimiter rateLimiter,
+                                AdaptiveConcurrencyLimiter concurrencyLimiter) {
+        this.properties = properties;
+        this.rateLimiter = rateLimiter;
+        this.concurrencyLimiter = concurrencyLimiter;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (request.getDispatcherType() == DispatcherType.ASYNC) {
+            return true;
+        }
+        if (!concurrencyLimiter.tryAcquire()) {
+            throw new TooManyRequestsException(CONCURRENCY_LIMIT_EXCEEDED, properties.concurrencyRetryAfter());
+        }
+        long wait = rateLimiter.tryAcquire(clientId(request), budget(request));
+        if (wait > 0) {
+            concurrencyLimiter.release();
+            throw new TooManyRequestsException(RATE_LIMIT_EXCEEDED, Duration.ofNanos(wait));
+        }
+        request.setAttribute(ADMITTED_AT, System.nanoTime());
+        return true;
+    }
+
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (request.getAttribute(ADMITTED_AT) != null) {
+            request.removeAttribute(ADMITTED_AT);
+            if (isPushStream(handler)) {
+                concurrencyLimiter.release();
+            } else {
+                request.setAttribute(HELD_ASYNC, Boolean.TRUE);
+            }
+        }
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        if (request.getAttribute(ADMITTED_AT) instanceof Long admittedAt) {
+            request.removeAttribute(ADMITTED_AT);
+            concurrencyLimiter.release(System.nanoTime() - admittedAt);
+        } else if (request.getAttribute(HELD_ASYNC) != null) {
+            request.removeAttribute(HELD_ASYNC);
+            concurrencyLimiter.release();
+        }
+    }
+
+    private static boolean isPushStream(Object handler) {
+        return handler instanceof HandlerMethod method
+                && ResponseBodyEmitter.class.isAssignableFrom(method.getReturnType().getParameterType());
+    }
+
+    private static String clientId(HttpServletRequest request) {
+        Principal principal = request.getUserPrincipal();
+        return principal != null ? "principal:" + principal.getName() : "address:" + request.getRemoteAddr();
+    }
+
+    private static ClientRateLimiter.Budget budget(HttpServletRequest request) {
+        String method = request.getMethod();
+        return HttpMethod.GET.matches(method) || HttpMethod.HEAD.matches(method) || HttpMethod.OPTIONS.matches(method)
+                ? ClientRateLimiter.Budget.READ
+                : ClientRateLimiter.Budget.WRITE;
+    }
+}
@@ -0,0 +1,60 @@
+package com.example.todos.simpletodoservice.admission;
+
+import com.example.todos.simpletodoservice.config.AdmissionProperties;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+
+/*
+ * One token bucket per client and budget. Buckets live in a bounded Caffeine cache, so a flood of distinct
+ * client ids costs at most maxClients buckets; an evicted client simply starts over with a full bucket.
+ */
+@Component
+public class ClientRateLimiter {
+
+    public enum Budget {
+        READ,
+        WRITE
+    }
+
+    private record Key(String clientId, Budget budget) {
+    }
+
+    private final AdmissionProperties properties;
+    private final Cache<Key, TokenBucket> buckets;
+    private final Map<Budget, Counter> rejected = new EnumMap<>(Budget.class);
+
+    public ClientRateLimiter(AdmissionProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.buckets = Caffeine.newBuilder()
+                .maximumSize(properties.maxClients())
+                .expireAfterAccess(properties.clientIdleTimeout())
+                .build();
+        for (Budget budget : Budget.values()) {
+            rejected.put(budget, Counter.builder("todos.admission.rejected")
+                    .description("Requests rejected with 429 before reaching TodoService")
+                    .tag("reason", "rate")
+                    .tag("budget", budget.name().toLowerCase(Locale.ROOT))
+                    .register(meterRegistry));
+        }
+    }
+
+    /* Returns 0 when the request is admitted, otherwise the nanos until the client's budget allows another one */
+    public long tryAcquire(String clientId, Budget budget) {
+        long now = System.nanoTime();
+        TokenBucket bucket = buckets.get(new Key(clientId, budget), key -> budget == Budget.READ
+                ? new TokenBucket(properties.readCapacity(), properties.readRefillPerSecond(), now)
+                : new TokenBucket(properties.writeCapacity(), properties.writeRefillPerSecond(), now));
+        long wait = bucket.tryTake(now);
+        if (wait > 0) {
+            rejected.get(budget).increment();
+        }
+        return wait;
+    }
+}
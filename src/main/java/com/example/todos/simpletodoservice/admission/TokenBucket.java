@@ -0,0 +1,34 @@
+package com.example.todos.simpletodoservice.admission;
+
+/*
+ * Holds up to capacity tokens and refills continuously at refillPerSecond; one request takes one token.
+ * Times are System.nanoTime() readings passed in by the caller.
+ */
+final class TokenBucket {
+
+    private final double capacity;
+    private final double refillPerNano;
+    private double tokens;
+    private long refilledAt;
+
+    TokenBucket(double capacity, double refillPerSecond, long now) {
+        if (capacity < 1 || refillPerSecond <= 0) {
+            throw new IllegalArgumentException("capacity must be at least 1 and refillPerSecond positive");
+        }
+        this.capacity = capacity;
+        this.refillPerNano = refillPerSecond / 1_000_000_000d;
+        this.tokens = capacity;
+        this.refilledAt = now;
+    }
+
+    /* Takes a token and returns 0, or takes nothing and returns the nanos until a token will be available */
+    synchronized long tryTake(long now) {
+        tokens = Math.min(capacity, tokens + Math.max(0, now - refilledAt) * refillPerNano);
+        refilledAt = now;
+        if (tokens >= 1) {
+            tokens -= 1;
+            return 0;
+        }
+        return (long) Math.ceil((1 - tokens) / refillPerNano);
+    }
+}
@@ -0,0 +1,123 @@
+package com.example.todos.simpletodoservice.cache;
+
+import com.example.todos.simpletodoservice.config.TodoCacheProperties;
+import com.example.todos.simpletodoservice.domain.TodoStatus;
+import com.example.todos.simpletodoservice.dto.TodoResponse;
+import com.example.todos.simpletodoservice.event.TodoChangedEvent;
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Function;
+
+/*
+ * Read-through cache of TodoResponse by tenant and id, bounded by size and TTL. The tenant is part of the key, so
+ * a hit can only serve the tenant the item was loaded for; a lookup from another tenant misses and its loader decides.
+ * A NOT_DONE entry never outlives its dueAt, so a cached item cannot hide a PAST_DUE transition.
+ * Writers refresh entries through TodoChangedEvent once their transaction has committed. Listeners of two writers
+ * can run in either order, so an entry is only replaced by a version at least as new as the one cached.
+ *
+ * Backed by an AsyncCache so a miss only installs a future inside the map's compute block; the database load then runs
+ * outside it on the caller's thread. Loading inside a synchronous compute would pin virtual threads for the whole query.
+ */
+@Component
+public class TodoResponseCache {
+
+    private final AsyncCache<Key, TodoResponse> cache;
+
+    private record Key(String tenantId, UUID id) {
+    }
+
+    public TodoResponseCache(TodoCacheProperties properties, MeterRegistry meterRegistry) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(properties.maximumSize())
+                .expireAfter(new DueAwareExpiry(properties.ttl()))
+                .recordStats()
+                .buildAsync();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache.synchronous(), "todos");
+    }
+
+    /*
+     * Loads and caches on a miss; a loader exception (e.g. NotFoundException) propagates and nothing is cached.
+     * Concurrent misses for the same id wait for the first loader instead of querying again.
+     */
+    public TodoResponse get(String tenantId, UUID id, Function<UUID, TodoResponse> loader) {
+        CompletableFuture<TodoResponse> pending = new CompletableFuture<>();
+        CompletableFuture<TodoResponse> future = cache.get(new Key(tenantId, id), (key, executor) -> pending);
+        if (future == pending) {
+            try {
+                pending.complete(loader.apply(id));
+            } catch (RuntimeException ex) {
+                pending.completeExceptionally(ex);
+            }
+        }
+        try {
+            return future.join();
+        } catch (CompletionException ex) {
+            if (ex.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw ex;
+        }
+    }
+
+    public void invalidate(String tenantId, UUID id) {
+        cache.synchronous().invalidate(new Key(tenantId, id));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTodoChanged(TodoChangedEvent event) {
+        TodoResponse item = event.item();
+        if (item != null) {
+            cache.asMap().compute(new Key(event.tenantId(), event.id()), (key, current) ->
+                    cachedVersion(current) > item.version() ? current : CompletableFuture.completedFuture(item));
+        } else {
+            invalidate(event.tenantId(), event.id());
+        }
+    }
+
+    /* Version of a loaded entry; -1 when there is none, or it is still loading or failed */
+    private static long cachedVersion(CompletableFuture<TodoResponse> entry) {
+        return entry != null && entry.isDone() && !entry.isCompletedExceptionally() ? entry.join().version() : -1;
+    }
+
+    private static final class DueAwareExpiry implements Expiry<Key, TodoResponse> {
+
+        private final Duration ttl;
+
+        DueAwareExpiry(Duration ttl) {
+            this.ttl = ttl;
+        }
+
+        @Override
+        public long expireAfterCreate(Key key, TodoResponse value, long currentTime) {
+            if (value.status() != TodoStatus.NOT_DONE || value.dueAt() == null) {
+                return ttl.toNanos();
+            }
+            Duration untilDue = Duration.between(Instant.now(), value.dueAt());
+            if (untilDue.compareTo(ttl) >= 0) {
+                return ttl.toNanos();
+            }
+            return untilDue.isNegative() ? 0 : untilDue.toNanos();
+        }
+
+        @Override
+        public long expireAfterUpdate(Key key, TodoResponse value, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, value, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(Key key, TodoResponse value, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package com.example.todos.simpletodoservice.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/*
+ * Admission control on /api/**: token-bucket budgets per client (the principal, or the remote address without one),
+ * separate for reads and writes, and an adaptive concurrency limit between minLimit and maxLimit.
+ * At most maxClients buckets are kept; a bucket idle for clientIdleTimeout is dropped (and starts full again).
+ */
+@ConfigurationProperties(prefix = "todos.admission")
+public record AdmissionProperties(@DefaultValue("true") boolean enabled,
+                                  @DefaultValue("10000") int maxClients,
+                                  @DefaultValue("PT10M") Duration clientIdleTimeout,
+                                  @DefaultValue("200") int readCapacity,
+                                  @DefaultValue("100") double readRefillPerSecond,
+                                  @DefaultValue("100") int writeCapacity,
+                                  @DefaultValue("50") double writeRefillPerSecond,
+                                  @DefaultValue("20") int initialLimit,
+                                  @DefaultValue("4") int minLimit,
+                                  @DefaultValue("200") int maxLimit,
+                                  @DefaultValue("2.0") double rttTolerance,
+                                  @DefaultValue("0.2") double smoothing,
+                                  @DefaultValue("PT1S") Duration concurrencyRetryAfter) {
+}
@@ -0,0 +1,9 @@
+package com.example.todos.simpletodoservice.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/* Upper bound on the number of items accepted by one batch request */
+@ConfigurationProperties(prefix = "todos.batch")
+public record BatchProperties(@DefaultValue("500") int maxItems) {
+}
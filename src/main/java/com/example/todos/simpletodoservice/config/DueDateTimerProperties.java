@@ -0,0 +1,14 @@
+package com.example.todos.simpletodoservice.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/* Settings for the in-process timing wheel that fires PAST_DUE transitions at each item's dueAt */
+@ConfigurationProperties(prefix = "todos.due-date-timer")
+public record DueDateTimerProperties(@DefaultValue("true") boolean enabled,
+                                     @DefaultValue("100ms") Duration tick,
+                                     @DefaultValue("512") int wheelSize,
+                                     @DefaultValue("1000") int loadBatchSize) {
+}
@@ -0,0 +1,18 @@
+package com.example.todos.simpletodoservice.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/*
+ * Limits of the SSE change stream: events queued per subscriber before it is disconnected as too slow,
+ * events retained for Last-Event-ID resumption, keep-alive interval and connection lifetime.
+ */
+@ConfigurationProperties(prefix = "todos.stream")
+public record EventStreamProperties(@DefaultValue("256") int subscriberBufferSize,
+                                    @DefaultValue("1024") int replaySize,
+                                    @DefaultValue("1000") int maxSubscribers,
+                                    @DefaultValue("PT15S") Duration heartbeat,
+                                    @DefaultValue("PT30M") Duration timeout) {
+}
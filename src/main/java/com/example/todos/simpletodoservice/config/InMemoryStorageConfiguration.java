@@ -0,0 +1,21 @@
+package com.example.todos.simpletodoservice.config;
+
+import com.example.todos.simpletodoservice.repository.InMemoryTransactionManager;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.transaction.PlatformTransactionManager;
+
+/*
+ * Without a datasource there is no JPA transaction manager; with the memory and wal engines
+ * @Transactional and TransactionTemplate use this one.
+ */
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnExpression("!'${todos.storage.engine:jpa}'.equalsIgnoreCase('jpa')")
+public class InMemoryStorageConfiguration {
+
+    @Bean
+    public PlatformTransactionManager transactionManager() {
+        return new InMemoryTransactionManager();
+    }
+}
@@ -0,0 +1,32 @@
+package com.example.todos.simpletodoservice.config;
+
+import com.example.todos.simpletodoservice.metrics.TimedOperation;
+import com.example.todos.simpletodoservice.metrics.TimedOperationInterceptor;
+import com.example.todos.simpletodoservice.metrics.TodoMetrics;
+import org.springframework.aop.Advisor;
+import org.springframework.aop.support.DefaultPointcutAdvisor;
+import org.springframework.aop.support.annotation.AnnotationMatchingPointcut;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Role;
+import org.springframework.core.Ordered;
+
+/*
+ * @TimedOperation advice. The transaction advisor keeps its default lowest-precedence order, so this one, ordered
+ * first, wraps it. The infrastructure role lets the auto-proxy creator that applies @Transactional pick it up as well.
+ */
+@Configuration(proxyBeanMethods = false)
+public class MetricsConfiguration {
+
+    @Bean
+    @Role(BeanDefinition.ROLE_INFRASTRUCTURE)
+    public static Advisor timedOperationAdvisor(ObjectProvider<TodoMetrics> metrics) {
+        DefaultPointcutAdvisor advisor = new DefaultPointcutAdvisor(
+                AnnotationMatchingPointcut.forMethodAnnotation(TimedOperation.class),
+                new TimedOperationInterceptor(metrics));
+        advisor.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        return advisor;
+    }
+}
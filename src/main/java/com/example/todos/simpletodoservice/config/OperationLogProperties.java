@@ -0,0 +1,21 @@
+package com.example.todos.simpletodoservice.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.util.Map;
+
+/* Share of TodoService operations written to the todos.operations log, by operation name */
+@ConfigurationProperties(prefix = "todos.operation-log")
+public record OperationLogProperties(@DefaultValue("0.01") double sampleRate,
+                                     @DefaultValue("1.0") double failureSampleRate,
+                                     Map<String, Double> operations) {
+
+    public OperationLogProperties {
+        operations = operations == null ? Map.of() : Map.copyOf(operations);
+    }
+
+    public double sampleRate(String operation) {
+        return operations.getOrDefault(operation, sampleRate);
+    }
+}
@@ -0,0 +1,10 @@
+package com.example.todos.simpletodoservice.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/* Page size bounds for the keyset-paginated list endpoint */
+@ConfigurationProperties(prefix = "todos.pagination")
+public record PaginationProperties(@DefaultValue("100") int defaultPageSize,
+                                   @DefaultValue("1000") int maxPageSize) {
+}
@@ -0,0 +1,13 @@
+package com.example.todos.simpletodoservice.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/* Settings for the background job that moves overdue items to PAST_DUE */
+@ConfigurationProperties(prefix = "todos.past-due-sweeper")
+public record PastDueSweeperProperties(@DefaultValue("true") boolean enabled,
+                                       @DefaultValue("PT5M") Duration interval,
+                                       @DefaultValue("500") int batchSize) {
+}
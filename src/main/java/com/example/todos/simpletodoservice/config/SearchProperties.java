@@ -0,0 +1,9 @@
+package com.example.todos.simpletodoservice.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/* Query terms shorter than minPrefixLength match whole terms only instead of every term they start */
+@ConfigurationProperties(prefix = "todos.search")
+public record SearchProperties(@DefaultValue("2") int minPrefixLength) {
+}
@@ -0,0 +1,22 @@
+package com.example.todos.simpletodoservice.config;
+
+import com.example.todos.simpletodoservice.repository.TodoStore;
+import com.example.todos.simpletodoservice.scheduling.DueDateScheduler;
+import com.example.todos.simpletodoservice.scheduling.PastDueSweeper;
+import org.springframework.boot.LazyInitializationExcludeFilter;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/*
+ * With spring.main.lazy-initialization (prod profile) these beans are still created at startup:
+ * the storage engine recovers its state, the timer loads pending due dates and @Scheduled methods
+ * are only registered for beans that exist.
+ */
+@Configuration(proxyBeanMethods = false)
+public class StartupConfiguration {
+
+    @Bean
+    public static LazyInitializationExcludeFilter eagerTodoBeans() {
+        return LazyInitializationExcludeFilter.forBeanTypes(TodoStore.class, DueDateScheduler.class, PastDueSweeper.class);
+    }
+}
@@ -0,0 +1,12 @@
+package com.example.todos.simpletodoservice.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/* Settings for the per-tenant stats counters: the "due soon" horizon and how often they are checked against the store */
+@ConfigurationProperties(prefix = "todos.stats")
+public record StatsProperties(@DefaultValue("PT24H") Duration dueSoonWindow,
+                              @DefaultValue("PT5M") Duration reconcileInterval) {
+}
@@ -0,0 +1,27 @@
+package com.example.todos.simpletodoservice.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+/* Storage engine selection; lockStripes applies to the memory and wal engines, wal only to the latter */
+@ConfigurationProperties(prefix = "todos.storage")
+public record StorageProperties(@DefaultValue("jpa") Engine engine,
+                                @DefaultValue("64") int lockStripes,
+                                @DefaultValue Wal wal) {
+
+    public enum Engine {
+        JPA,
+        MEMORY,
+        WAL
+    }
+
+    /* Segment files and snapshots live in directory; a snapshot compacts every sealed segment */
+    public record Wal(@DefaultValue("data/wal") Path directory,
+                      @DefaultValue("64MB") DataSize segmentSize,
+                      @DefaultValue("PT10M") Duration snapshotInterval) {
+    }
+}
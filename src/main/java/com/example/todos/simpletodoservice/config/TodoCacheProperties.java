@@ -0,0 +1,12 @@
+package com.example.todos.simpletodoservice.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/* Bounds of the in-process getById cache */
+@ConfigurationProperties(prefix = "todos.cache")
+public record TodoCacheProperties(@DefaultValue("10000") long maximumSize,
+                                  @DefaultValue("PT5M") Duration ttl) {
+}
@@ -0,0 +1,35 @@
+package com.example.todos.simpletodoservice.config;
+
+import com.example.todos.simpletodoservice.admission.AdaptiveConcurrencyLimiter;
+import com.example.todos.simpletodoservice.admission.AdmissionInterceptor;
+import com.example.todos.simpletodoservice.admission.ClientRateLimiter;
+import com.example.todos.simpletodoservice.tenant.TenantInterceptor;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+@Configuration
+public class WebConfiguration implements WebMvcConfigurer {
+
+    private final AdmissionProperties admission;
+    private final ClientRateLimiter rateLimiter;
+    private final AdaptiveConcurrencyLimiter concurrencyLimiter;
+
+    public WebConfiguration(AdmissionProperties admission,
+                            ClientRateLimiter rateLimiter,
+                            AdaptiveConcurrencyLimiter concurrencyLimiter) {
+        this.admission = admission;
+        this.rateLimiter = rateLimiter;
+        this.concurrencyLimiter = concurrencyLimiter;
+    }
+
+    /* the tenant is bound first so it is set for everything after it, including error handling of a rejection */
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new TenantInterceptor()).addPathPatterns("/api/**");
+        if (admission.enabled()) {
+            registry.addInterceptor(new AdmissionInterceptor(admission, rateLimiter, concurrencyLimiter))
+                    .addPathPatterns("/api/**");
+        }
+    }
+}
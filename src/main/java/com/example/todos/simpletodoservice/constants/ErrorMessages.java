@@ -12,4 +12,19 @@ public final class ErrorMessages {
     public static final String DESCRIPTION_MUST_NOT_BE_BLANK = "description must not be blank";
     public static final String DUE_AT_MUST_NOT_BE_NULL = "dueAt must not be null";
     public static final String PAST_DUE_ITEMS_CANNOT_BE_MODIFIED = "past due items cannot be modified";
+    public static final String INVALID_CURSOR = "cursor is not a valid continuation token";
+    public static final String LIMIT_MUST_BE_POSITIVE = "limit must be greater than 0";
+    public static final String BATCH_SIZE_EXCEEDED = "batch must not contain more than %d items";
+    public static final String BATCH_ITEM_MUST_NOT_BE_NULL = "batch item must not be null";
+    public static final String DUPLICATE_ID_IN_BATCH = "id appears more than once in the batch: ";
+    public static final String STATUS_MUST_BE_DONE_OR_NOT_DONE = "status: must be DONE or NOT_DONE";
+    public static final String IF_MATCH_NOT_SATISFIED = "If-Match does not match the current version of the item";
+    public static final String CONCURRENT_MODIFICATION = "item was modified concurrently, retry the request";
+    public static final String INVALID_TENANT_ID = "X-Tenant-Id must be 1-64 letters, digits, '.', '_' or '-'";
+    public static final String INVALID_SORT = "sort: must be dueAt or createdAt, optionally followed by ,asc or ,desc";
+    public static final String INVALID_RANGE = "dueFrom / createdFrom must be before dueTo / createdTo";
+    public static final String SEARCH_QUERY_MUST_HAVE_TERMS = "q: must contain at least one letter or digit";
+    public static final String RATE_LIMIT_EXCEEDED = "request rate limit exceeded, retry later";
+    public static final String CONCURRENCY_LIMIT_EXCEEDED = "too many requests in progress, retry later";
+    public static final String TOO_MANY_STREAM_SUBSCRIBERS = "too many stream subscribers, retry later";
 }
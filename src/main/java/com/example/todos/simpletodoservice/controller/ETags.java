@@ -0,0 +1,46 @@
+package com.example.todos.simpletodoservice.controller;
+
+import com.example.todos.simpletodoservice.dto.TodoResponse;
+import com.example.todos.simpletodoservice.exception.PreconditionFailedException;
+
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static com.example.todos.simpletodoservice.constants.ErrorMessages.IF_MATCH_NOT_SATISFIED;
+
+/*
+ * Strong ETags of single-item representations: "<version>-<status>".
+ * The status is part of the tag because reads report PAST_DUE as soon as dueAt passes,
+ * before DueDateScheduler has persisted the transition and bumped the version.
+ */
+final class ETags {
+
+    /* "<version>" or "<version>-<status>", quoted; no comma or second quote, so a list never matches */
+    private static final Pattern TAG = Pattern.compile("\"(\\d+)(?:-[A-Z_]+)?\"");
+
+    private ETags(){}
+
+    static String of(TodoResponse item){
+        return "\"" + item.version() + "-" + item.status() + "\"";
+    }
+
+    /*
+     * The version an If-Match header requires, or null when the header is absent or "*".
+     * Only a single strong tag of ours can match; anything else (a weak or foreign tag, a list) fails the precondition.
+     * A list is refused as a whole rather than read up to its first comma: a write expects exactly one version.
+     */
+    static Long version(String ifMatch){
+        if(ifMatch == null || ifMatch.isBlank() || ifMatch.trim().equals("*")){
+            return null;
+        }
+        Matcher tag = TAG.matcher(ifMatch.trim());
+        if(!tag.matches()){
+            throw new PreconditionFailedException(IF_MATCH_NOT_SATISFIED);
+        }
+        try {
+            return Long.parseLong(tag.group(1));
+        } catch (NumberFormatException ex) {
+            throw new PreconditionFailedException(IF_MATCH_NOT_SATISFIED);
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package com.example.todos.simpletodoservice.controller;
+
+import com.example.todos.simpletodoservice.dto.BatchCreateTodoRequest;
+import com.example.todos.simpletodoservice.dto.BatchItemResult;
+import com.example.todos.simpletodoservice.dto.BatchStatusChangeRequest;
+import com.example.todos.simpletodoservice.service.TodoService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+/* Custom-method style endpoints (/todos:batch) cannot hang off the /api/v1/todos class mapping, hence a separate controller */
+@RestController
+@RequestMapping("/api/v1")
+@Tag(name = "Todos", description = "Manage to-do items")
+public class TodoBatchController {
+
+    private final TodoService todoService;
+
+    public TodoBatchController(TodoService todoService){
+        this.todoService = todoService;
+    }
+
+
+    @PostMapping("/todos:batch")
+    @Operation(summary = "Create many todo items in one transaction, with a result per item")
+    public List<BatchItemResult> createAll(@Valid @RequestBody BatchCreateTodoRequest request){
+        return todoService.createAll(request.items());
+    }
+
+
+    @PostMapping("/todos:batchUpdateStatus")
+    @Operation(summary = "Mark many todo items as done / not done in one transaction, with a result per item")
+    public List<BatchItemResult> changeStatuses(@Valid @RequestBody BatchStatusChangeRequest request){
+        return todoService.changeStatuses(request.items());
+    }
+}
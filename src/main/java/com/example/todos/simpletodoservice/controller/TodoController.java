@@ -1,17 +1,33 @@
 package com.example.todos.simpletodoservice.controller;
 
 import com.example.todos.simpletodoservice.domain.TodoItem;
+import com.example.todos.simpletodoservice.domain.TodoStatus;
 import com.example.todos.simpletodoservice.dto.CreateTodoRequest;
+import com.example.todos.simpletodoservice.dto.CursorPage;
 import com.example.todos.simpletodoservice.dto.TodoResponse;
+import com.example.todos.simpletodoservice.dto.TodoStatsResponse;
 import com.example.todos.simpletodoservice.dto.UpdateDescriptionRequest;
+import com.example.todos.simpletodoservice.event.TodoChangeTracker;
+import com.example.todos.simpletodoservice.event.TodoEventStream;
 import com.example.todos.simpletodoservice.mapper.TodoMapper;
-import com.example.todos.simpletodoservice.service.TodoService;import io.swagger.v3.oas.annotations.Operation;
+import com.example.todos.simpletodoservice.repository.TodoQuery;
+import com.example.todos.simpletodoservice.service.TodoService;
+import com.example.todos.simpletodoservice.stats.TodoStats;
+import com.example.todos.simpletodoservice.tenant.TenantContext;
+import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.time.Instant;
 import java.util.List;
+import java.util.Set;
 import java.util.UUID;
 
 @RestController
@@ -19,56 +35,130 @@ import java.util.UUID;
 @Tag(name = "Todos", description = "Manage to-do items")
 public class TodoController {
 
+    public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
     private final TodoService todoService;
+    private final TodoEventStream eventStream;
+    private final TodoChangeTracker changeTracker;
+    private final TodoStats stats;
 
-    public TodoController(TodoService todoService){
+    public TodoController(TodoService todoService, TodoEventStream eventStream, TodoChangeTracker changeTracker,
+                          TodoStats stats){
         this.todoService = todoService;
+        this.eventStream = eventStream;
+        this.changeTracker = changeTracker;
+        this.stats = stats;
     }
 
 
     @PostMapping
     @Operation(summary = "Create a todo item")
-    @ResponseStatus(HttpStatus.CREATED)
-    public TodoResponse item(@Valid @RequestBody CreateTodoRequest request){
+    public ResponseEntity<TodoResponse> item(@Valid @RequestBody CreateTodoRequest request){
         TodoItem created = todoService.create(request.description(), request.dueAt());
-        return TodoMapper.toResponse(created);
+        return withETag(ResponseEntity.status(HttpStatus.CREATED), created);
     }
 
-
+    /* The PUT endpoints honour If-Match: a tag that no longer matches the item's ETag is answered 412 */
     @PutMapping("/{id}/description")
     @Operation(summary = "Update todo description")
-    public TodoResponse updateDescription(@PathVariable UUID id, @Valid @RequestBody UpdateDescriptionRequest request){
-        TodoItem updated = todoService.updateDescription(id, request.description());
-        return TodoMapper.toResponse(updated);
+    public ResponseEntity<TodoResponse> updateDescription(@PathVariable UUID id,
+                                                          @RequestHeader(name = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+                                                          @Valid @RequestBody UpdateDescriptionRequest request){
+        TodoItem updated = todoService.updateDescription(id, request.description(), ETags.version(ifMatch));
+        return withETag(ResponseEntity.ok(), updated);
     }
 
 
     @PutMapping("/{id}/done")
     @Operation(summary = "Mark todo as done")
-    public TodoResponse markDone(@PathVariable UUID id){
-        TodoItem updated = todoService.markDone(id);
-        return TodoMapper.toResponse(updated);
+    public ResponseEntity<TodoResponse> markDone(@PathVariable UUID id,
+                                                 @RequestHeader(name = HttpHeaders.IF_MATCH, required = false) String ifMatch){
+        TodoItem updated = todoService.markDone(id, ETags.version(ifMatch));
+        return withETag(ResponseEntity.ok(), updated);
     }
 
 
     @PutMapping("/{id}/not-done")
     @Operation(summary = "Mark todo as not done")
-    public TodoResponse markNotDone(@PathVariable UUID id){
-        TodoItem updated = todoService.markNotDone(id);
-        return TodoMapper.toResponse(updated);
+    public ResponseEntity<TodoResponse> markNotDone(@PathVariable UUID id,
+                                                    @RequestHeader(name = HttpHeaders.IF_MATCH, required = false) String ifMatch){
+        TodoItem updated = todoService.markNotDone(id, ETags.version(ifMatch));
+        return withETag(ResponseEntity.ok(), updated);
     }
 
-    /* ) */
+    /*
+     * One page per call; the continuation token for the next page is returned in the X-Next-Cursor header.
+     * status (repeatable) takes precedence over includeDone; ranges are [from, to) instants and sort is
+     * dueAt or createdAt, optionally followed by ,asc or ,desc.
+     * ETag / Last-Modified come from the tenant's change counter, so a revalidation that still matches
+     * is answered 304 before any row is read.
+     */
     @GetMapping
-    @Operation(summary = "get all items that are (not done) - with option to retrieve all items")
-    public List<TodoResponse> list(@RequestParam(defaultValue = "false") boolean includeDone){
-        return todoService.getItems(includeDone).stream().map(TodoMapper::toResponse).toList();
+    @Operation(summary = "get all items that are (not done) - with option to retrieve all items, filter by status, "
+            + "dueAt and createdAt ranges and sort by dueAt or createdAt")
+    public ResponseEntity<List<TodoResponse>> list(@RequestParam(defaultValue = "false") boolean includeDone,
+                                                   @RequestParam(name = "status", required = false) Set<TodoStatus> statuses,
+                                                   @RequestParam(required = false) Instant dueFrom,
+                                                   @RequestParam(required = false) Instant dueTo,
+                                                   @RequestParam(required = false) Instant createdFrom,
+                                                   @RequestParam(required = false) Instant createdTo,
+                                                   @RequestParam(required = false) String sort,
+                                                   @RequestParam(required = false) String cursor,
+                                                   @RequestParam(required = false) Integer limit,
+                                                   WebRequest request){
+        Set<TodoStatus> filter = statuses != null && !statuses.isEmpty()
+                ? statuses
+                : includeDone ? null : TodoQuery.OPEN_STATUSES;
+        TodoQuery query = new TodoQuery(filter, dueFrom, dueTo, createdFrom, createdTo, TodoQuery.Sort.parse(sort));
+        /* read before the query: a change racing it leaves the ETag older than the body, never newer */
+        TodoChangeTracker.Mark mark = changeTracker.current(TenantContext.current());
+        if(request.checkNotModified(changeTracker.etag(mark), mark.lastModified().toEpochMilli())){
+            return null;
+        }
+        CursorPage<TodoResponse> page = todoService.getItems(query, cursor, limit);
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if(page.nextCursor() != null){
+            response.header(NEXT_CURSOR_HEADER, page.nextCursor());
+        }
+        return response.body(page.items());
+    }
+
+    /* Full-text search over descriptions: every term of q must match, as a whole word or a word prefix */
+    @GetMapping("/search")
+    @Operation(summary = "Search items by description, optionally filtered by status")
+    public List<TodoResponse> search(@RequestParam(required = false) String q,
+                                     @RequestParam(name = "status", required = false) Set<TodoStatus> statuses,
+                                     @RequestParam(required = false) Integer limit){
+        return todoService.search(q, statuses, limit);
+    }
+
+    /* Read from counters kept by change events, so the cost does not grow with the number of items */
+    @GetMapping("/stats")
+    @Operation(summary = "Count items per status and items due soon")
+    public TodoStatsResponse stats(){
+        return stats.snapshot(TenantContext.current(), Instant.now());
+    }
+
+    /* Server-sent change events; a reconnecting client resumes after the id in its Last-Event-ID header */
+    @GetMapping(path = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(summary = "Stream todo changes as server-sent events")
+    public SseEmitter stream(@RequestHeader(name = "Last-Event-ID", required = false) Long lastEventId){
+        return eventStream.subscribe(TenantContext.current(), lastEventId);
     }
 
+    /* A matching If-None-Match is answered 304 without serializing the item, which is usually a cache hit */
     @GetMapping("/{id}")
     @Operation(summary = "Get a todo item by id")
-    public TodoResponse item(@PathVariable UUID id){
-        TodoItem item =  todoService.getById(id);
-        return TodoMapper.toResponse(item);
+    public TodoResponse item(@PathVariable UUID id, WebRequest request){
+        TodoResponse item = todoService.getById(id);
+        if(request.checkNotModified(ETags.of(item))){
+            return null;
+        }
+        return item;
+    }
+
+    private static ResponseEntity<TodoResponse> withETag(ResponseEntity.BodyBuilder response, TodoItem item){
+        TodoResponse body = TodoMapper.toResponse(item);
+        return response.eTag(ETags.of(body)).body(body);
     }
 }
@@ -0,0 +1,107 @@
+package com.example.todos.simpletodoservice.controller;
+
+import com.example.todos.simpletodoservice.dto.TodoResponse;
+import com.example.todos.simpletodoservice.service.TodoService;
+import com.example.todos.simpletodoservice.tenant.TenantContext;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import tools.jackson.databind.ObjectMapper;
+import tools.jackson.databind.ObjectWriter;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.function.Consumer;
+
+/*
+ * Unpaged export, written to the response item by item while TodoService reads them from a database cursor,
+ * so heap use does not grow with the result and the first item goes out as soon as it is read.
+ * Served as one JSON array, or as NDJSON (one item per line) when the client accepts application/x-ndjson.
+ * Custom-method style like the batch endpoints, which also keeps it clear of /todos/{id}.
+ */
+@RestController
+@RequestMapping("/api/v1")
+@Tag(name = "Todos", description = "Manage to-do items")
+public class TodoExportController {
+
+    private final TodoService todoService;
+    private final ObjectWriter writer;
+
+    public TodoExportController(TodoService todoService, ObjectMapper objectMapper){
+        this.todoService = todoService;
+        this.writer = objectMapper.writerFor(TodoResponse.class);
+    }
+
+
+    @GetMapping(path = "/todos:export", produces = MediaType.APPLICATION_JSON_VALUE)
+    @Operation(summary = "Export all items that are (not done) - with option to include done items - as one streamed JSON array")
+    public ResponseEntity<StreamingResponseBody> exportJson(@RequestParam(defaultValue = "false") boolean includeDone){
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(forCurrentTenant(out -> {
+                    out.write('[');
+                    todoService.export(includeDone, new ItemWriter(out, false));
+                    out.write(']');
+                }));
+    }
+
+
+    @GetMapping(path = "/todos:export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @Operation(summary = "Export all items that are (not done) - with option to include done items - as newline-delimited JSON")
+    public ResponseEntity<StreamingResponseBody> exportNdjson(@RequestParam(defaultValue = "false") boolean includeDone){
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(forCurrentTenant(out -> todoService.export(includeDone, new ItemWriter(out, true))));
+    }
+
+    /* The body is written on an async executor thread, which has no tenant bound; carry the request's over */
+    private static StreamingResponseBody forCurrentTenant(StreamingResponseBody body){
+        String tenantId = TenantContext.current();
+        return out -> {
+            TenantContext.set(tenantId);
+            try {
+                body.writeTo(out);
+            } finally {
+                TenantContext.clear();
+            }
+        };
+    }
+
+    /* Flushes after the first item so the client sees data without waiting for the container buffer to fill */
+    private final class ItemWriter implements Consumer<TodoResponse> {
+
+        private final OutputStream out;
+        private final boolean ndjson;
+        private long written;
+
+        private ItemWriter(OutputStream out, boolean ndjson) {
+            this.out = out;
+            this.ndjson = ndjson;
+        }
+
+        @Override
+        public void accept(TodoResponse item) {
+            try {
+                if(!ndjson && written > 0){
+                    out.write(',');
+                }
+                out.write(writer.writeValueAsBytes(item));
+                if(ndjson){
+                    out.write('\n');
+                }
+                if(written++ == 0){
+                    out.flush();
+                }
+            } catch (IOException ex) {
+                throw new UncheckedIOException(ex);
+            }
+        }
+    }
+}
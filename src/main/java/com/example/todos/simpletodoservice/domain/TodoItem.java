@@ -1,25 +1,40 @@
 package com.example.todos.simpletodoservice.domain;
 
+import com.example.todos.simpletodoservice.tenant.TenantContext;
 import jakarta.persistence.*;
 
 import java.time.Instant;
 import java.util.UUID;
 
 @Entity
-@Table(name = "TodoItems")
+@Table(name = "TodoItems", indexes = {
+        /* per-tenant overdue sweeps and status listings: tenant_id = ? and status = ? ordered by due_at */
+        @Index(name = "idx_todo_items_tenant_status_due_at", columnList = "tenant_id, status, due_at, id"),
+        /* per-tenant keyset pages and dueAt ranges ordered by (due_at, id) */
+        @Index(name = "idx_todo_items_tenant_due_at", columnList = "tenant_id, due_at, id"),
+        /* per-tenant keyset pages and ranges ordered by (created_at, id) */
+        @Index(name = "idx_todo_items_tenant_created_at", columnList = "tenant_id, created_at, id"),
+        /* due-date timer loading across all tenants at startup */
+        @Index(name = "idx_todo_items_status_due_at", columnList = "status, due_at, id")
+})
 public class TodoItem {
 
     @Id
     @GeneratedValue
     private UUID id;
 
+    /* Owner of the item; every request-facing query is scoped to one tenant */
+    @Column(name = "tenant_id", nullable = false, updatable = false, length = 64)
+    private String tenantId = TenantContext.DEFAULT_TENANT;
+
     @Column(nullable = false, length= 500)
     private String description;
 
     @Enumerated(EnumType.STRING)
-    @Column(nullable = false)
+    @Column(name = "status", nullable = false)
     private TodoStatus status;
 
+    @Column(name = "due_at")
     private Instant dueAt;
 
     private Instant doneAt;
@@ -30,11 +45,21 @@ public class TodoItem {
     @Column(updatable = true)
     private Instant updatedAt;
 
+    /* Incremented by every stored change; the basis of ETags and conditional requests */
+    @Version
+    @Column(nullable = false)
+    private long version;
+
     protected TodoItem(){
         //JPA only
     }
 
     public TodoItem(String description, Instant dueAt) {
+        this(TenantContext.DEFAULT_TENANT, description, dueAt);
+    }
+
+    public TodoItem(String tenantId, String description, Instant dueAt) {
+        this.tenantId = tenantId;
         this.description = description;
         this.status = TodoStatus.NOT_DONE;
         this.dueAt = dueAt;
@@ -69,6 +94,14 @@ public class TodoItem {
         this.updatedAt = updatedAt;
     }
 
+    public void setVersion(long version) {
+        this.version = version;
+    }
+
+    public String getTenantId() {
+        return tenantId;
+    }
+
     public UUID getId() {
         return id;
     }
@@ -97,6 +130,22 @@ public class TodoItem {
         return updatedAt;
     }
 
+    public long getVersion() {
+        return version;
+    }
+
+    /* Detached copy of the current state, for stores that do not hand out managed instances */
+    public TodoItem copy() {
+        TodoItem copy = new TodoItem(tenantId, description, dueAt);
+        copy.id = id;
+        copy.status = status;
+        copy.doneAt = doneAt;
+        copy.createdAt = createdAt;
+        copy.updatedAt = updatedAt;
+        copy.version = version;
+        return copy;
+    }
+
     @PrePersist
     void onCreate() {
         this.createdAt = Instant.now();
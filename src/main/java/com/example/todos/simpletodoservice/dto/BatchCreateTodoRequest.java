@@ -0,0 +1,9 @@
+package com.example.todos.simpletodoservice.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+
+import java.util.List;
+
+/* Items are validated one by one so a single bad entry does not reject the whole batch */
+public record BatchCreateTodoRequest(@NotEmpty List<CreateTodoRequest> items) {
+}
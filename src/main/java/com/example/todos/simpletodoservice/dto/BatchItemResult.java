@@ -0,0 +1,8 @@
+package com.example.todos.simpletodoservice.dto;
+
+/* Outcome of one entry of a batch request; index refers to the position in the request's items */
+public record BatchItemResult(int index,
+                              int status,
+                              TodoResponse item,
+                              String message) {
+}
@@ -0,0 +1,8 @@
+package com.example.todos.simpletodoservice.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+
+import java.util.List;
+
+public record BatchStatusChangeRequest(@NotEmpty List<StatusChangeRequest> items) {
+}
@@ -0,0 +1,10 @@
+package com.example.todos.simpletodoservice.dto;
+
+import com.example.todos.simpletodoservice.domain.TodoStatus;
+import jakarta.validation.constraints.NotNull;
+
+import java.util.UUID;
+
+public record StatusChangeRequest(@NotNull UUID id,
+                                  @NotNull TodoStatus status) {
+}
@@ -11,5 +11,11 @@ public record TodoResponse(UUID id,
                            Instant createdAt,
                            Instant updatedAt,
                            Instant dueAt,
-                           Instant doneAt) {
+                           Instant doneAt,
+                           long version) {
+
+    /* Same item reported with another status, e.g. the computed PAST_DUE of an overdue item */
+    public TodoResponse withStatus(TodoStatus status) {
+        return new TodoResponse(id, description, status, createdAt, updatedAt, dueAt, doneAt, version);
+    }
 }
@@ -0,0 +1,13 @@
+package com.example.todos.simpletodoservice.dto;
+
+import com.example.todos.simpletodoservice.domain.TodoStatus;
+
+import java.time.Instant;
+import java.util.Map;
+
+/* Item counts of the caller's tenant; dueSoon counts NOT_DONE items due before dueSoonUntil */
+public record TodoStatsResponse(long total,
+                                Map<TodoStatus, Long> byStatus,
+                                long dueSoon,
+                                Instant dueSoonUntil) {
+}
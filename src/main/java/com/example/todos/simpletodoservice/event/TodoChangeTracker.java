@@ -0,0 +1,42 @@
+package com.example.todos.simpletodoservice.event;
+
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Instant;
+import java.util.concurrent.ConcurrentHashMap;
+
+/*
+ * Per-tenant change counters behind the collection ETag and Last-Modified of the list endpoint.
+ * A tenant's counter advances after every committed TodoChangedEvent of that tenant, including the PAST_DUE
+ * transitions persisted by DueDateScheduler and PastDueSweeper, so while it stands still none of the tenant's
+ * list responses can have changed, and writes by other tenants never invalidate them.
+ * The epoch (startup time) keeps ETags handed out before a restart from matching afterwards.
+ */
+@Component
+public class TodoChangeTracker {
+
+    private final String epoch = Long.toString(System.currentTimeMillis(), 36);
+    /* mark of every tenant that has not changed since startup; tenants get an entry with their first change */
+    private final Mark initial = new Mark(0, Instant.now());
+    private final ConcurrentHashMap<String, Mark> current = new ConcurrentHashMap<>();
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTodoChanged(TodoChangedEvent event) {
+        Instant now = Instant.now();
+        current.merge(event.tenantId(), new Mark(initial.sequence() + 1, now), (mark, ignored) ->
+                new Mark(mark.sequence() + 1, now.isAfter(mark.lastModified()) ? now : mark.lastModified()));
+    }
+
+    public Mark current(String tenantId) {
+        return current.getOrDefault(tenantId, initial);
+    }
+
+    public String etag(Mark mark) {
+        return "\"" + epoch + "-" + mark.sequence() + "\"";
+    }
+
+    /* Counter value and time of the change that produced it, read together */
+    public record Mark(long sequence, Instant lastModified) {
+    }
+}
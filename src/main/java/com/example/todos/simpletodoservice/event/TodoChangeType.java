@@ -0,0 +1,9 @@
+package com.example.todos.simpletodoservice.event;
+
+public enum TodoChangeType {
+    CREATED,
+    DESCRIPTION_UPDATED,
+    DONE,
+    NOT_DONE,
+    PAST_DUE
+}
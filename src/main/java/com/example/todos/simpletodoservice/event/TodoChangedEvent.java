@@ -0,0 +1,16 @@
+package com.example.todos.simpletodoservice.event;
+
+import com.example.todos.simpletodoservice.dto.TodoResponse;
+
+import java.util.UUID;
+
+/*
+ * Published after every state change of a todo item, tagged with the tenant that owns it.
+ * item is the state after the change; it is null for PAST_DUE transitions applied by the sweeper's bulk UPDATE,
+ * where the row is never loaded.
+ */
+public record TodoChangedEvent(TodoChangeType type,
+                               UUID id,
+                               String tenantId,
+                               TodoResponse item) {
+}
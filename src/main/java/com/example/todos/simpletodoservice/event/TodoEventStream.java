@@ -0,0 +1,204 @@
+package com.example.todos.simpletodoservice.event;
+
+import com.example.todos.simpletodoservice.config.EventStreamProperties;
+import com.example.todos.simpletodoservice.exception.ServiceUnavailableException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static com.example.todos.simpletodoservice.constants.ErrorMessages.TOO_MANY_STREAM_SUBSCRIBERS;
+
+/*
+ * Fans committed TodoChangedEvents out to SSE subscribers of the tenant that owns the item.
+ *
+ * Every event gets a sequence id and is kept in a bounded replay buffer, so a client reconnecting with
+ * Last-Event-ID receives what it missed. Publishing never blocks on a subscriber: events are offered to
+ * a bounded per-subscriber queue drained on a virtual thread. A subscriber whose queue is full is
+ * disconnected; its client reconnects and resumes from the replay buffer, or gets a "reset" event telling it
+ * to reload the list when the events it missed are no longer retained.
+ */
+@Component
+public class TodoEventStream implements DisposableBean {
+
+    private static final Logger logger = LoggerFactory.getLogger(TodoEventStream.class);
+
+    public static final String RESET_EVENT = "reset";
+
+    private final EventStreamProperties properties;
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    private final ExecutorService senders = Executors.newVirtualThreadPerTaskExecutor();
+    private final Counter disconnectedSlow;
+    /* guarded by this: the sequence, the replay buffer and fan-out order */
+    private final Deque<StreamedEvent> replay = new ArrayDeque<>();
+    private long sequence;
+
+    public TodoEventStream(EventStreamProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.disconnectedSlow = Counter.builder("todos.stream.disconnected.slow")
+                .description("Subscribers disconnected because their buffer was full")
+                .register(meterRegistry);
+        Gauge.builder("todos.stream.subscribers", subscribers, Set::size)
+                .description("Open SSE subscriptions")
+                .register(meterRegistry);
+    }
+
+    /*
+     * lastEventId is the id of the last event the client received, or null for a fresh subscription.
+     * Event ids are shared by all tenants, so a subscriber sees gaps in them where other tenants' events went.
+     */
+    public SseEmitter subscribe(String tenantId, Long lastEventId) {
+        if (subscribers.size() >= properties.maxSubscribers()) {
+            throw new ServiceUnavailableException(TOO_MANY_STREAM_SUBSCRIBERS);
+        }
+        Subscriber subscriber = new Subscriber(tenantId, new SseEmitter(properties.timeout().toMillis()),
+                new ArrayBlockingQueue<>(properties.subscriberBufferSize()));
+        subscriber.emitter.onCompletion(() -> subscribers.remove(subscriber));
+        subscriber.emitter.onTimeout(() -> subscribers.remove(subscriber));
+        subscriber.emitter.onError(ex -> subscribers.remove(subscriber));
+
+        synchronized (this) {
+            if (lastEventId != null) {
+                StreamedEvent oldest = replay.peekFirst();
+                boolean gap = lastEventId < sequence && (oldest == null || oldest.id() > lastEventId + 1);
+                if (gap || lastEventId > sequence) {
+                    subscriber.queue.offer(new StreamedEvent(sequence, null));
+                } else {
+                    for (StreamedEvent event : replay) {
+                        if (event.id() <= lastEventId || !subscriber.accepts(event.change())) {
+                            continue;
+                        }
+                        if (!subscriber.queue.offer(event)) {
+                            subscriber.queue.clear();
+                            subscriber.queue.offer(new StreamedEvent(sequence, null));
+                            break;
+                        }
+                    }
+                }
+            }
+            subscribers.add(subscriber);
+        }
+        drain(subscriber);
+        return subscriber.emitter;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTodoChanged(TodoChangedEvent change) {
+        synchronized (this) {
+            StreamedEvent event = new StreamedEvent(++sequence, change);
+            replay.addLast(event);
+            if (replay.size() > properties.replaySize()) {
+                replay.removeFirst();
+            }
+            for (Subscriber subscriber : subscribers) {
+                if (subscriber.accepts(change) && !subscriber.queue.offer(event)) {
+                    disconnectSlow(subscriber);
+                }
+            }
+        }
+        subscribers.forEach(this::drain);
+    }
+
+    @Scheduled(fixedRateString = "${todos.stream.heartbeat:PT15S}")
+    public void heartbeat() {
+        for (Subscriber subscriber : subscribers) {
+            senders.execute(() -> send(subscriber, SseEmitter.event().comment("keep-alive")));
+        }
+    }
+
+    @Override
+    public void destroy() {
+        subscribers.forEach(subscriber -> subscriber.emitter.complete());
+        senders.shutdownNow();
+    }
+
+    private void disconnectSlow(Subscriber subscriber) {
+        if (subscribers.remove(subscriber)) {
+            disconnectedSlow.increment();
+            logger.debug("Disconnecting slow stream subscriber");
+            subscriber.queue.clear();
+            senders.execute(subscriber.emitter::complete);
+        }
+    }
+
+    /* At most one sender per subscriber at a time, so events go out in queue order */
+    private void drain(Subscriber subscriber) {
+        if (subscriber.queue.isEmpty() || !subscriber.draining.compareAndSet(false, true)) {
+            return;
+        }
+        senders.execute(() -> {
+            try {
+                StreamedEvent event;
+                while ((event = subscriber.queue.poll()) != null) {
+                    if (!send(subscriber, toSse(event))) {
+                        return;
+                    }
+                }
+            } finally {
+                subscriber.draining.set(false);
+            }
+            drain(subscriber);
+        });
+    }
+
+    private boolean send(Subscriber subscriber, SseEmitter.SseEventBuilder event) {
+        try {
+            subscriber.emitter.send(event);
+            return true;
+        } catch (IOException | IllegalStateException ex) {
+            /* client went away; the emitter callbacks remove it */
+            subscribers.remove(subscriber);
+            subscriber.queue.clear();
+            return false;
+        }
+    }
+
+    private static SseEmitter.SseEventBuilder toSse(StreamedEvent event) {
+        if (event.change() == null) {
+            return SseEmitter.event().id(Long.toString(event.id())).name(RESET_EVENT).data("");
+        }
+        return SseEmitter.event()
+                .id(Long.toString(event.id()))
+                .name(event.change().type().name().toLowerCase(Locale.ROOT))
+                .data(event.change());
+    }
+
+    /* change is null for a reset marker */
+    private record StreamedEvent(long id, TodoChangedEvent change) {
+    }
+
+    private static final class Subscriber {
+        private final String tenantId;
+        private final SseEmitter emitter;
+        private final BlockingQueue<StreamedEvent> queue;
+        private final AtomicBoolean draining = new AtomicBoolean();
+
+        private Subscriber(String tenantId, SseEmitter emitter, BlockingQueue<StreamedEvent> queue) {
+            this.tenantId = tenantId;
+            this.emitter = emitter;
+            this.queue = queue;
+        }
+
+        private boolean accepts(TodoChangedEvent change) {
+            return tenantId.equals(change.tenantId());
+        }
+    }
+}
@@ -1,9 +1,12 @@
 package com.example.todos.simpletodoservice.exception;
 
 import com.example.todos.simpletodoservice.dto.ErrorResponse;
+import com.example.todos.simpletodoservice.metrics.TodoMetrics;
 import jakarta.servlet.http.HttpServletRequest;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.converter.HttpMessageNotReadableException;
@@ -15,30 +18,78 @@ import org.springframework.web.method.annotation.MethodArgumentTypeMismatchExcep
 import java.time.Instant;
 import java.util.stream.Collectors;
 
+import static com.example.todos.simpletodoservice.constants.ErrorMessages.CONCURRENT_MODIFICATION;
+
 @RestControllerAdvice
 public class GlobalExceptionHandler {
 
     private static final Logger logger = LoggerFactory.getLogger(GlobalExceptionHandler.class);
+    private final TodoMetrics metrics;
+
+    public GlobalExceptionHandler(TodoMetrics metrics) {
+        this.metrics = metrics;
+    }
 
     @ExceptionHandler(NotFoundException.class)
     public ResponseEntity<ErrorResponse> handleNotFound(NotFoundException ex, HttpServletRequest request){
         return buildErrorResponse(HttpStatus.NOT_FOUND,
                 ex.getMessage(),
-                request);
+                request,
+                ex);
     }
 
     @ExceptionHandler(PastDueModificationException.class)
     public ResponseEntity<ErrorResponse> handlePastDueModification(PastDueModificationException ex, HttpServletRequest request){
         return buildErrorResponse(HttpStatus.CONFLICT,
                 ex.getMessage(),
-                request);
+                request,
+                ex);
+    }
+
+    @ExceptionHandler(PreconditionFailedException.class)
+    public ResponseEntity<ErrorResponse> handlePreconditionFailed(PreconditionFailedException ex, HttpServletRequest request){
+        return buildErrorResponse(HttpStatus.PRECONDITION_FAILED,
+                ex.getMessage(),
+                request,
+                ex);
+    }
+
+    /* version check of a batched save lost against a concurrent writer */
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public ResponseEntity<ErrorResponse> handleOptimisticLockingFailure(OptimisticLockingFailureException ex, HttpServletRequest request){
+        return buildErrorResponse(HttpStatus.CONFLICT,
+                CONCURRENT_MODIFICATION,
+                request,
+                ex);
+    }
+
+    @ExceptionHandler(ServiceUnavailableException.class)
+    public ResponseEntity<ErrorResponse> handleServiceUnavailable(ServiceUnavailableException ex, HttpServletRequest request){
+        return buildErrorResponse(HttpStatus.SERVICE_UNAVAILABLE,
+                ex.getMessage(),
+                request,
+                ex);
+    }
+
+    /* Retry-After in whole seconds, rounded up so a client retrying on time is admitted */
+    @ExceptionHandler(TooManyRequestsException.class)
+    public ResponseEntity<ErrorResponse> handleTooManyRequests(TooManyRequestsException ex, HttpServletRequest request){
+        long retryAfterSeconds = Math.max(1, (ex.getRetryAfter().toMillis() + 999) / 1000);
+        ResponseEntity<ErrorResponse> response = buildErrorResponse(HttpStatus.TOO_MANY_REQUESTS,
+                ex.getMessage(),
+                request,
+                ex);
+        return ResponseEntity.status(response.getStatusCode())
+                .header(HttpHeaders.RETRY_AFTER, Long.toString(retryAfterSeconds))
+                .body(response.getBody());
     }
 
     @ExceptionHandler(IllegalArgumentException.class)
     public ResponseEntity<ErrorResponse> handleBadRequest(IllegalArgumentException ex, HttpServletRequest request){
         return buildErrorResponse(HttpStatus.BAD_REQUEST,
                 ex.getMessage(),
-                request);
+                request,
+                ex);
     }
 
     /* @Valid body validation errors */
@@ -53,7 +104,8 @@ public class GlobalExceptionHandler {
 
         return buildErrorResponse(HttpStatus.BAD_REQUEST,
                 message,
-                request);
+                request,
+                ex);
     }
 
 
@@ -61,7 +113,7 @@ public class GlobalExceptionHandler {
     public ResponseEntity<ErrorResponse> handleTypeMismatch(MethodArgumentTypeMismatchException ex,
                                                             HttpServletRequest request) {
         String message = "Invalid value for parameter '" + ex.getName() + "': " + ex.getValue();
-        return buildErrorResponse(HttpStatus.BAD_REQUEST, message, request);
+        return buildErrorResponse(HttpStatus.BAD_REQUEST, message, request, ex);
     }
 
     @ExceptionHandler(HttpMessageNotReadableException.class)
@@ -69,12 +121,13 @@ public class GlobalExceptionHandler {
             HttpMessageNotReadableException ex,
             HttpServletRequest request) {
 
-        logger.warn("Invalid request body. uri={}", request.getRequestURI());
+        logger.debug("Invalid request body. uri={}", request.getRequestURI());
 
         return buildErrorResponse(
                 HttpStatus.BAD_REQUEST,
                 "Invalid request format",
-                request
+                request,
+                ex
         );
     }
 
@@ -85,10 +138,11 @@ public class GlobalExceptionHandler {
                 request.getMethod(),
                 request.getRequestURI(),
                 ex);
-        return buildErrorResponse(HttpStatus.INTERNAL_SERVER_ERROR, "Unexpected error", request);
+        return buildErrorResponse(HttpStatus.INTERNAL_SERVER_ERROR, "Unexpected error", request, ex);
     }
 
-    private ResponseEntity<ErrorResponse> buildErrorResponse(HttpStatus status, String message, HttpServletRequest request){
+    private ResponseEntity<ErrorResponse> buildErrorResponse(HttpStatus status, String message, HttpServletRequest request, Exception ex){
+        metrics.error(ex, status);
         ErrorResponse body = new ErrorResponse(Instant.now(),
                 status.value(),
                 message,
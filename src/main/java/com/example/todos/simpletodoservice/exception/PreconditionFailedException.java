@@ -0,0 +1,9 @@
+package com.example.todos.simpletodoservice.exception;
+
+public class PreconditionFailedException extends RuntimeException {
+
+    public PreconditionFailedException(String message) {
+        super(message);
+    }
+
+}
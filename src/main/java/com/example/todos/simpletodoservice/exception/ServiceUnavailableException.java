@@ -0,0 +1,9 @@
+package com.example.todos.simpletodoservice.exception;
+
+public class ServiceUnavailableException extends RuntimeException {
+
+    public ServiceUnavailableException(String message) {
+        super(message);
+    }
+
+}
@@ -0,0 +1,45 @@
+package com.example.todos.simpletodoservice.logging;
+
+import com.example.todos.simpletodoservice.config.OperationLogProperties;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/*
+ * One sampled, structured line per TodoService operation (operation, id, outcome, durationMs as
+ * SLF4J key-value pairs). The level of the todos.operations logger can be changed at runtime
+ * through /actuator/loggers/todos.operations; when it is off, a call costs one isInfoEnabled check.
+ */
+@Component
+public class OperationLog {
+
+    public static final String LOGGER_NAME = "todos.operations";
+
+    private static final Logger logger = LoggerFactory.getLogger(LOGGER_NAME);
+
+    private final OperationLogProperties properties;
+
+    public OperationLog(OperationLogProperties properties) {
+        this.properties = properties;
+    }
+
+    public void completed(String operation, UUID id, String outcome, long durationNanos, boolean failed) {
+        if (!logger.isInfoEnabled() || !sampled(failed ? properties.failureSampleRate() : properties.sampleRate(operation))) {
+            return;
+        }
+        logger.atInfo()
+                .addKeyValue("operation", operation)
+                .addKeyValue("id", id)
+                .addKeyValue("outcome", outcome)
+                .addKeyValue("durationMs", TimeUnit.NANOSECONDS.toMicros(durationNanos) / 1000.0)
+                .log("todo operation completed");
+    }
+
+    private static boolean sampled(double rate) {
+        return rate >= 1.0 || (rate > 0.0 && ThreadLocalRandom.current().nextDouble() < rate);
+    }
+}
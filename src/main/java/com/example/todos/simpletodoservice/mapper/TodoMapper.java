@@ -14,6 +14,7 @@ public class TodoMapper {
                 item.getCreatedAt(),
                 item.getUpdatedAt(),
                 item.getDueAt(),
-                item.getDoneAt());
+                item.getDoneAt(),
+                item.getVersion());
     }
 }
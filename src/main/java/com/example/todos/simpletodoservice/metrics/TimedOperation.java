@@ -0,0 +1,20 @@
+package com.example.todos.simpletodoservice.metrics;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/*
+ * Times a public service method as todos.operation{operation = value}; see TimedOperationInterceptor.
+ * Calls between methods of the same bean are not intercepted, so every public entry point carries it,
+ * overloads that only delegate included.
+ */
+@Documented
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.METHOD)
+public @interface TimedOperation {
+
+    String value();
+}
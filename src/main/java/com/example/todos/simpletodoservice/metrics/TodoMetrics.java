@@ -0,0 +1,83 @@
+package com.example.todos.simpletodoservice.metrics;
+
+import com.example.todos.simpletodoservice.logging.OperationLog;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.stereotype.Component;
+
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/*
+ * Meters shared by the TodoService operations and the error handler.
+ * Every operation is timed as todos.operation{operation, outcome} by TimedOperationInterceptor; outcome is
+ * "success" or the simple name of the exception that escaped, so error rates come from the same series as latency.
+ * The same measurement feeds the sampled OperationLog line. Tagged meters are built once per tag combination and
+ * kept, so recording is a map lookup.
+ */
+@Component
+public class TodoMetrics {
+
+    public static final String OUTCOME_SUCCESS = "success";
+
+    private final MeterRegistry registry;
+    private final OperationLog operationLog;
+    private final DistributionSummary listSize;
+    private final ConcurrentHashMap<OperationOutcome, Timer> operations = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, DistributionSummary> batchSizes = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<ErrorStatus, Counter> errors = new ConcurrentHashMap<>();
+
+    public TodoMetrics(MeterRegistry registry, OperationLog operationLog) {
+        this.registry = registry;
+        this.operationLog = operationLog;
+        this.listSize = DistributionSummary.builder("todos.list.size")
+                .description("Items returned per list page")
+                .baseUnit("items")
+                .publishPercentileHistogram()
+                .register(registry);
+    }
+
+    public void operation(String operation, UUID id, String outcome, long durationNanos) {
+        operations.computeIfAbsent(new OperationOutcome(operation, outcome), key -> Timer.builder("todos.operation")
+                        .description("Latency of TodoService operations")
+                        .tag("operation", key.operation())
+                        .tag("outcome", key.outcome())
+                        .publishPercentileHistogram()
+                        .register(registry))
+                .record(durationNanos, TimeUnit.NANOSECONDS);
+        operationLog.completed(operation, id, outcome, durationNanos, !OUTCOME_SUCCESS.equals(outcome));
+    }
+
+    public void listSize(int items) {
+        listSize.record(items);
+    }
+
+    public void batchSize(String operation, int items) {
+        batchSizes.computeIfAbsent(operation, key -> DistributionSummary.builder("todos.batch.size")
+                        .description("Entries per batch request")
+                        .baseUnit("items")
+                        .tag("operation", key)
+                        .register(registry))
+                .record(items);
+    }
+
+    /* Counted where the exception is mapped, so the rate matches what clients saw */
+    public void error(Exception ex, HttpStatusCode status) {
+        errors.computeIfAbsent(new ErrorStatus(ex.getClass().getSimpleName(), status.value()), key -> Counter.builder("todos.errors")
+                        .description("Requests answered with an error response")
+                        .tag("exception", key.exception())
+                        .tag("status", String.valueOf(key.status()))
+                        .register(registry))
+                .increment();
+    }
+
+    private record OperationOutcome(String operation, String outcome) {
+    }
+
+    private record ErrorStatus(String exception, int status) {
+    }
+}
@@ -0,0 +1,9 @@
+package com.example.todos.simpletodoservice.repository;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/* Projection used to load pending due dates without hydrating whole entities */
+public record DueDateEntry(UUID id,
+                           Instant dueAt) {
+}
@@ -0,0 +1,492 @@
+package com.example.todos.simpletodoservice.repository;
+
+import com.example.todos.simpletodoservice.config.StorageProperties;
+import com.example.todos.simpletodoservice.domain.TodoItem;
+import com.example.todos.simpletodoservice.domain.TodoStatus;
+import com.example.todos.simpletodoservice.dto.TodoResponse;
+import com.example.todos.simpletodoservice.mapper.TodoMapper;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/*
+ * Heap-only engine for deployments without a database.
+ * Items live in a ConcurrentHashMap keyed by id; writes to one id are serialized by one of a fixed
+ * set of striped locks, so writers to different items rarely contend. Sorted (dueAt, id) indexes mirror the
+ * composite indexes of the SQL schema: each tenant has its own partition with one index across its items and
+ * one per status, serving keyset pages, exports and the overdue scan, plus a (createdAt, id) index for pages sorted
+ * by creation time, and a per-status index across all tenants serves due-date loading.
+ * Stored items are never mutated in place: every write replaces the stored copy, and reads hand out copies,
+ * so a reader that races a writer sees either the old or the new state of an item. Each call is atomic: a batch
+ * (saveAll, markPastDue) holds the locks of all its items and is checked in full before any of it is applied.
+ */
+@Repository
+@ConditionalOnProperty(prefix = "todos.storage", name = "engine", havingValue = "memory")
+public class InMemoryTodoStore implements TodoStore {
+
+    private static final Comparator<DueDateEntry> KEYSET_ORDER = Comparator
+            .comparing(DueDateEntry::dueAt, Comparator.nullsFirst(Comparator.naturalOrder()))
+            .thenComparing(DueDateEntry::id);
+    private static final UUID LOWEST_ID = new UUID(Long.MIN_VALUE, Long.MIN_VALUE);
+
+    private final ConcurrentHashMap<UUID, TodoItem> items = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, Partition> partitions = new ConcurrentHashMap<>();
+    private final Map<TodoStatus, ConcurrentSkipListSet<DueDateEntry>> byStatus = statusIndexes();
+    private final ReentrantLock[] stripes;
+
+    /* One tenant's indexes; a partition is created with the tenant's first item and kept until deleteAll */
+    private static final class Partition {
+        private final ConcurrentSkipListSet<DueDateEntry> byDueAt = new ConcurrentSkipListSet<>(KEYSET_ORDER);
+        private final Map<TodoStatus, ConcurrentSkipListSet<DueDateEntry>> byStatus = statusIndexes();
+        /* (createdAt, id) entries in DueDateEntry's shape; createdAt never changes, so entries are only ever added */
+        private final ConcurrentSkipListSet<DueDateEntry> byCreatedAt = new ConcurrentSkipListSet<>(KEYSET_ORDER);
+    }
+
+    /* filled for every status up front and never modified afterwards */
+    private static Map<TodoStatus, ConcurrentSkipListSet<DueDateEntry>> statusIndexes() {
+        Map<TodoStatus, ConcurrentSkipListSet<DueDateEntry>> indexes = new EnumMap<>(TodoStatus.class);
+        for (TodoStatus status : TodoStatus.values()) {
+            indexes.put(status, new ConcurrentSkipListSet<>(KEYSET_ORDER));
+        }
+        return indexes;
+    }
+
+    public InMemoryTodoStore(StorageProperties properties) {
+        if (properties.lockStripes() < 1) {
+            throw new IllegalArgumentException("lockStripes must be positive");
+        }
+        stripes = new ReentrantLock[properties.lockStripes()];
+        for (int i = 0; i < stripes.length; i++) {
+            stripes[i] = new ReentrantLock();
+        }
+    }
+
+    @Override
+    public TodoItem save(TodoItem item) {
+        return saveAll(List.of(item)).getFirst();
+    }
+
+    /* All or nothing: every version is checked before any item of the batch is stored */
+    @Override
+    public List<TodoItem> saveAll(List<TodoItem> batch) {
+        for (TodoItem item : batch) {
+            if (item.getId() == null) {
+                item.setId(UUID.randomUUID());
+            }
+        }
+        Instant now = Instant.now();
+        return write(batch.stream().map(TodoItem::getId).toList(), () -> {
+            Map<UUID, TodoItem> pending = new HashMap<>();
+            List<Change> changes = new ArrayList<>(batch.size());
+            for (TodoItem item : batch) {
+                TodoItem previous = pending.containsKey(item.getId()) ? pending.get(item.getId()) : items.get(item.getId());
+                if (previous != null && previous.getVersion() != item.getVersion()) {
+                    throw new OptimisticLockingFailureException("Todo item " + item.getId() + " was modified concurrently");
+                }
+                /* stamped on the caller's instance too, as the entity callbacks do for a managed item */
+                if (previous == null) {
+                    item.setCreatedAt(now);
+                    item.setVersion(0);
+                } else {
+                    item.setCreatedAt(previous.getCreatedAt());
+                    item.setUpdatedAt(now);
+                    item.setVersion(previous.getVersion() + 1);
+                }
+                TodoItem stored = item.copy();
+                pending.put(stored.getId(), stored);
+                changes.add(new Change(previous, stored));
+            }
+            return changes;
+        });
+    }
+
+    /* One planned write; previous is null for an insert */
+    protected record Change(TodoItem previous, TodoItem current) {
+    }
+
+    /*
+     * Holds the stripe locks of ids (taken in stripe order, so batches cannot deadlock) while plan reads the stored
+     * items and decides the changes, then applies all of them. plan or beforeApply throws to reject the whole write,
+     * so a batch is stored completely or not at all. Returns copies of the items as stored.
+     */
+    private List<TodoItem> write(Collection<UUID> ids, Supplier<List<Change>> plan) {
+        List<ReentrantLock> locks = locksFor(ids);
+        locks.forEach(ReentrantLock::lock);
+        try {
+            List<Change> changes = plan.get();
+            if (!changes.isEmpty()) {
+                beforeApply(changes);
+            }
+            List<TodoItem> written = new ArrayList<>(changes.size());
+            for (Change change : changes) {
+                items.put(change.current().getId(), change.current());
+                reindex(change.previous(), change.current());
+                written.add(change.current().copy());
+            }
+            return written;
+        } finally {
+            for (int i = locks.size() - 1; i >= 0; i--) {
+                locks.get(i).unlock();
+            }
+        }
+    }
+
+    @Override
+    public Optional<TodoItem> findById(UUID id) {
+        TodoItem item = items.get(id);
+        return item == null ? Optional.empty() : Optional.of(item.copy());
+    }
+
+    @Override
+    public List<TodoItem> findAllById(Collection<UUID> ids) {
+        List<TodoItem> found = new ArrayList<>(ids.size());
+        for (UUID id : ids) {
+            TodoItem item = items.get(id);
+            if (item != null) {
+                found.add(item.copy());
+            }
+        }
+        return found;
+    }
+
+    @Override
+    public List<TodoItem> findAll() {
+        return items.values().stream().map(TodoItem::copy).toList();
+    }
+
+    @Override
+    public List<TodoItem> findAllByStatus(TodoStatus status) {
+        return items.values().stream()
+                .filter(item -> item.getStatus() == status)
+                .map(TodoItem::copy)
+                .toList();
+    }
+
+    @Override
+    public long count() {
+        return items.size();
+    }
+
+    @Override
+    public List<String> findTenantIds() {
+        return partitions.entrySet().stream()
+                .filter(partition -> !partition.getValue().byDueAt.isEmpty())
+                .map(Map.Entry::getKey)
+                .sorted()
+                .toList();
+    }
+
+    /* Counts the live entries of the tenant's status indexes; a linear scan, meant for reconciliation, not requests */
+    @Override
+    public Map<TodoStatus, Long> countByStatus(String tenantId) {
+        Map<TodoStatus, Long> counts = new EnumMap<>(TodoStatus.class);
+        Partition partition = partitions.get(tenantId);
+        if (partition == null) {
+            return counts;
+        }
+        partition.byStatus.forEach((status, index) -> {
+            long count = index.stream()
+                    .map(this::current)
+                    .filter(item -> item != null && item.getStatus() == status)
+                    .count();
+            if (count > 0) {
+                counts.put(status, count);
+            }
+        });
+        return counts;
+    }
+
+    /* Reads only the [from, to) range of the tenant's status index */
+    @Override
+    public Map<Long, Long> countByDueMinute(String tenantId, TodoStatus status, Instant from, Instant to) {
+        Map<Long, Long> counts = new HashMap<>();
+        Partition partition = partitions.get(tenantId);
+        if (partition == null) {
+            return counts;
+        }
+        for (DueDateEntry entry : partition.byStatus.get(status)
+                .subSet(new DueDateEntry(LOWEST_ID, from), true, new DueDateEntry(LOWEST_ID, to), false)) {
+            TodoItem item = current(entry);
+            if (item != null && item.getStatus() == status) {
+                counts.merge(Math.floorDiv(entry.dueAt().getEpochSecond(), 60), 1L, Long::sum);
+            }
+        }
+        return counts;
+    }
+
+    @Override
+    public void deleteAll() {
+        clear(true);
+    }
+
+    private void clear(boolean notify) {
+        for (ReentrantLock lock : stripes) {
+            lock.lock();
+        }
+        try {
+            if (notify) {
+                beforeClear();
+            }
+            items.clear();
+            partitions.clear();
+            byStatus.values().forEach(Set::clear);
+        } finally {
+            for (ReentrantLock lock : stripes) {
+                lock.unlock();
+            }
+        }
+    }
+
+    @Override
+    public Optional<TodoItem> updateDescription(String tenantId, UUID id, Long expectedVersion, String description, Instant now) {
+        return updateIfModifiable(tenantId, id, expectedVersion, now, item -> true, item -> item.setDescription(description));
+    }
+
+    @Override
+    public Optional<TodoItem> updateStatus(String tenantId, UUID id, Long expectedVersion, TodoStatus status, Instant doneAt, Instant now) {
+        return updateIfModifiable(tenantId, id, expectedVersion, now, item -> item.getStatus() != status, item -> {
+            item.setStatus(status);
+            item.setDoneAt(doneAt);
+        });
+    }
+
+    private Optional<TodoItem> updateIfModifiable(String tenantId, UUID id, Long expectedVersion, Instant now,
+                                                  Predicate<TodoItem> applies, Consumer<TodoItem> change) {
+        return write(List.of(id), () -> {
+            TodoItem previous = items.get(id);
+            if (previous == null
+                    || !previous.getTenantId().equals(tenantId)
+                    || !isModifiable(previous, now)
+                    || !applies.test(previous)
+                    || (expectedVersion != null && previous.getVersion() != expectedVersion)) {
+                return List.of();
+            }
+            TodoItem next = previous.copy();
+            change.accept(next);
+            next.setUpdatedAt(now);
+            next.setVersion(previous.getVersion() + 1);
+            return List.of(new Change(previous, next));
+        }).stream().findFirst();
+    }
+
+    /* Same guard as the SQL engines: DONE, or NOT_DONE and not yet due */
+    private static boolean isModifiable(TodoItem item, Instant now) {
+        return item.getStatus() == TodoStatus.DONE
+                || (item.getStatus() == TodoStatus.NOT_DONE && item.getDueAt() != null && !item.getDueAt().isBefore(now));
+    }
+
+    @Override
+    public List<UUID> findOverdueIds(String tenantId, TodoStatus status, Instant now, int limit) {
+        Partition partition = partitions.get(tenantId);
+        if (partition == null) {
+            return List.of();
+        }
+        List<UUID> ids = new ArrayList<>();
+        for (DueDateEntry entry : partition.byStatus.get(status).headSet(new DueDateEntry(LOWEST_ID, now), false)) {
+            if (ids.size() == limit) {
+                break;
+            }
+            TodoItem item = current(entry);
+            if (entry.dueAt() != null && item != null && item.getStatus() == status) {
+                ids.add(entry.id());
+            }
+        }
+        return ids;
+    }
+
+    @Override
+    public List<UUID> markPastDue(Collection<UUID> ids, TodoStatus notDone, TodoStatus pastDue, Instant now) {
+        Set<UUID> distinct = new LinkedHashSet<>(ids);
+        return write(distinct, () -> {
+            List<Change> changes = new ArrayList<>();
+            for (UUID id : distinct) {
+                TodoItem previous = items.get(id);
+                if (previous == null
+                        || previous.getStatus() != notDone
+                        || previous.getDueAt() == null
+                        || !previous.getDueAt().isBefore(now)) {
+                    continue;
+                }
+                TodoItem next = previous.copy();
+                next.setStatus(pastDue);
+                next.setUpdatedAt(now);
+                next.setVersion(previous.getVersion() + 1);
+                changes.add(new Change(previous, next));
+            }
+            return changes;
+        }).stream().map(TodoItem::getId).toList();
+    }
+
+    /*
+     * Walks the index of the sort field, bounded by the range on it and started after the position, and filters the
+     * rest as it goes. A single stored status sorted by dueAt walks its own index instead of the tenant's whole range.
+     */
+    @Override
+    public List<TodoResponse> findPage(String tenantId, TodoQuery query, TodoQuery.Position after, Instant now, int limit) {
+        Partition partition = partitions.get(tenantId);
+        if (partition == null) {
+            return List.of();
+        }
+        boolean byCreatedAt = query.sort().field() == TodoQuery.SortField.CREATED_AT;
+        NavigableSet<DueDateEntry> index;
+        if (byCreatedAt) {
+            index = bounded(partition.byCreatedAt, query.createdFrom(), query.createdTo());
+        } else {
+            index = query.statuses() != null && query.statuses().size() == 1 && !query.statuses().contains(TodoStatus.PAST_DUE)
+                    ? partition.byStatus.get(query.statuses().iterator().next())
+                    : partition.byDueAt;
+            index = bounded(index, query.dueFrom(), query.dueTo());
+        }
+        if (after != null) {
+            DueDateEntry position = new DueDateEntry(after.id(), after.key());
+            index = query.sort().descending() ? index.headSet(position, false) : index.tailSet(position, false);
+        }
+        List<TodoResponse> page = new ArrayList<>(limit);
+        for (DueDateEntry entry : query.sort().descending() ? index.descendingSet() : index) {
+            if (page.size() == limit) {
+                break;
+            }
+            TodoItem item = byCreatedAt ? items.get(entry.id()) : current(entry);
+            /* responses are immutable, so the stored item is mapped without copying it first */
+            if (item != null && query.matches(item, now)) {
+                page.add(TodoMapper.toResponse(item));
+            }
+        }
+        return page;
+    }
+
+    /* Entries with a key in [from, to); LOWEST_ID sorts before every id sharing a key */
+    private static NavigableSet<DueDateEntry> bounded(NavigableSet<DueDateEntry> index, Instant from, Instant to) {
+        if (from != null) {
+            index = index.tailSet(new DueDateEntry(LOWEST_ID, from), true);
+        }
+        if (to != null) {
+            index = index.headSet(new DueDateEntry(LOWEST_ID, to), false);
+        }
+        return index;
+    }
+
+    /* Walks the (dueAt, id) index lazily; like every scan here it is weakly consistent with concurrent writes */
+    @Override
+    public Stream<TodoResponse> stream(String tenantId, Set<TodoStatus> statuses) {
+        Partition partition = partitions.get(tenantId);
+        if (partition == null) {
+            return Stream.empty();
+        }
+        return partition.byDueAt.stream()
+                .map(this::current)
+                .filter(item -> item != null && (statuses == null || statuses.contains(item.getStatus())))
+                .map(TodoMapper::toResponse);
+    }
+
+    @Override
+    public List<DueDateEntry> findDueDates(TodoStatus status, DueDateEntry after, int limit) {
+        NavigableSet<DueDateEntry> index = byStatus.get(status);
+        List<DueDateEntry> entries = new ArrayList<>(limit);
+        for (DueDateEntry entry : after == null ? index : index.tailSet(after, false)) {
+            if (entries.size() == limit) {
+                break;
+            }
+            TodoItem item = current(entry);
+            if (item != null && item.getStatus() == status) {
+                entries.add(entry);
+            }
+        }
+        return entries;
+    }
+
+    /*
+     * Called with the changes of one write before any of them is visible, while the stripe locks of their items
+     * are held, so calls for one item arrive in the order the changes are applied. If it throws, nothing is applied.
+     */
+    protected void beforeApply(List<Change> changes) {
+    }
+
+    /* Called by deleteAll while every stripe lock is held, before anything is dropped */
+    protected void beforeClear() {
+    }
+
+    /* Drops all state while recovering, without calling beforeClear() */
+    protected void restoreEmpty() {
+        clear(false);
+    }
+
+    /* Puts recovered state back as-is: no timestamps are stamped and beforeApply() is not called */
+    protected void restore(TodoItem item) {
+        ReentrantLock lock = lockFor(item.getId());
+        lock.lock();
+        try {
+            TodoItem stored = item.copy();
+            reindex(items.put(stored.getId(), stored), stored);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /* The stored item an index entry points to, or null when the entry is stale (item moved or deleted) */
+    private TodoItem current(DueDateEntry entry) {
+        TodoItem item = items.get(entry.id());
+        return item != null && Objects.equals(item.getDueAt(), entry.dueAt()) ? item : null;
+    }
+
+    /* New entries are added before stale ones are removed, so a concurrent scan never misses a live item */
+    private void reindex(TodoItem previous, TodoItem current) {
+        Partition partition = partitions.computeIfAbsent(current.getTenantId(), tenant -> new Partition());
+        DueDateEntry key = new DueDateEntry(current.getId(), current.getDueAt());
+        partition.byDueAt.add(key);
+        partition.byStatus.get(current.getStatus()).add(key);
+        byStatus.get(current.getStatus()).add(key);
+        if (previous == null) {
+            partition.byCreatedAt.add(new DueDateEntry(current.getId(), current.getCreatedAt()));
+            return;
+        }
+        /* the tenant never changes, so the stale entries live in the same partition */
+        DueDateEntry stale = new DueDateEntry(previous.getId(), previous.getDueAt());
+        if (!stale.equals(key)) {
+            partition.byDueAt.remove(stale);
+        }
+        if (!stale.equals(key) || previous.getStatus() != current.getStatus()) {
+            partition.byStatus.get(previous.getStatus()).remove(stale);
+            byStatus.get(previous.getStatus()).remove(stale);
+        }
+    }
+
+    private ReentrantLock lockFor(UUID id) {
+        return stripes[stripe(id)];
+    }
+
+    private List<ReentrantLock> locksFor(Collection<UUID> ids) {
+        return ids.stream()
+                .mapToInt(this::stripe)
+                .distinct()
+                .sorted()
+                .mapToObj(stripe -> stripes[stripe])
+                .toList();
+    }
+
+    private int stripe(UUID id) {
+        return Math.floorMod(id.hashCode(), stripes.length);
+    }
+}
@@ -0,0 +1,41 @@
+package com.example.todos.simpletodoservice.repository;
+
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.AbstractPlatformTransactionManager;
+import org.springframework.transaction.support.DefaultTransactionStatus;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/*
+ * Transaction manager for the in-memory engines. Transactions here only demarcate boundaries: nested
+ * @Transactional calls join the outer one, and after-commit listeners run when the outermost one ends
+ * (and not at all after a rollback).
+ *
+ * Nothing is undone on rollback. Each InMemoryTodoStore call is atomic - a saveAll or markPastDue batch is
+ * applied completely or not at all - but a transaction that wrote through several calls and then fails keeps
+ * the calls that succeeded, and on the wal engine they are already durable. TodoService makes at most one
+ * write call per transaction, so its operations, batches included, stay all or nothing.
+ */
+public class InMemoryTransactionManager extends AbstractPlatformTransactionManager {
+
+    @Override
+    protected Object doGetTransaction() {
+        return new Object();
+    }
+
+    @Override
+    protected boolean isExistingTransaction(Object transaction) {
+        return TransactionSynchronizationManager.isActualTransactionActive();
+    }
+
+    @Override
+    protected void doBegin(Object transaction, TransactionDefinition definition) {
+    }
+
+    @Override
+    protected void doCommit(DefaultTransactionStatus status) {
+    }
+
+    @Override
+    protected void doRollback(DefaultTransactionStatus status) {
+    }
+}
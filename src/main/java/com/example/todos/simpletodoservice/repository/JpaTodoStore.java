@@ -0,0 +1,148 @@
+package com.example.todos.simpletodoservice.repository;
+
+import com.example.todos.simpletodoservice.domain.TodoItem;
+import com.example.todos.simpletodoservice.domain.TodoStatus;
+import com.example.todos.simpletodoservice.dto.TodoResponse;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+/* Default engine: TodoItemRepository over the configured datasource */
+@Repository
+@ConditionalOnProperty(prefix = "todos.storage", name = "engine", havingValue = "jpa", matchIfMissing = true)
+public class JpaTodoStore implements TodoStore {
+
+    private static final Pageable FIRST_ROW = PageRequest.ofSize(1);
+
+    private final TodoItemRepository repository;
+
+    public JpaTodoStore(TodoItemRepository repository) {
+        this.repository = repository;
+    }
+
+    /* flushed so @PrePersist / @PreUpdate have stamped the item before callers publish it */
+    @Override
+    public TodoItem save(TodoItem item) {
+        return repository.saveAndFlush(item);
+    }
+
+    @Override
+    public List<TodoItem> saveAll(List<TodoItem> items) {
+        return repository.saveAllAndFlush(items);
+    }
+
+    @Override
+    public Optional<TodoItem> findById(UUID id) {
+        return repository.findById(id);
+    }
+
+    @Override
+    public List<TodoItem> findAllById(Collection<UUID> ids) {
+        return repository.findAllById(ids);
+    }
+
+    @Override
+    public List<TodoItem> findAll() {
+        return repository.findAll();
+    }
+
+    @Override
+    public List<TodoItem> findAllByStatus(TodoStatus status) {
+        return repository.findAllByStatus(status);
+    }
+
+    @Override
+    public long count() {
+        return repository.count();
+    }
+
+    /*
+     * Walks the tenants one index seek at a time rather than with a distinct over every row, so the cost follows the
+     * number of tenants, not of items. Tenant ids are never empty, so "" sorts before all of them.
+     */
+    @Override
+    public List<String> findTenantIds() {
+        List<String> tenantIds = new ArrayList<>();
+        List<String> next = repository.findTenantIdsAfter("", FIRST_ROW);
+        while (!next.isEmpty()) {
+            tenantIds.add(next.getFirst());
+            next = repository.findTenantIdsAfter(next.getFirst(), FIRST_ROW);
+        }
+        return tenantIds;
+    }
+
+    @Override
+    public Map<TodoStatus, Long> countByStatus(String tenantId) {
+        Map<TodoStatus, Long> counts = new EnumMap<>(TodoStatus.class);
+        repository.countByStatus(tenantId).forEach(count -> counts.put(count.status(), count.count()));
+        return counts;
+    }
+
+    @Override
+    public Map<Long, Long> countByDueMinute(String tenantId, TodoStatus status, Instant from, Instant to) {
+        Map<Long, Long> counts = new HashMap<>();
+        for (Object[] row : repository.countByDueMinute(tenantId, status.name(), from, to)) {
+            counts.put(((Number) row[0]).longValue(), ((Number) row[1]).longValue());
+        }
+        return counts;
+    }
+
+    @Override
+    public void deleteAll() {
+        /* one bulk delete: no per-row version check to trip over a concurrent past-due transition */
+        repository.deleteAllInBatch();
+    }
+
+    @Override
+    public Optional<TodoItem> updateDescription(String tenantId, UUID id, Long expectedVersion, String description, Instant now) {
+        return repository.updateDescriptionIfModifiable(tenantId, id, expectedVersion, description, now);
+    }
+
+    @Override
+    public Optional<TodoItem> updateStatus(String tenantId, UUID id, Long expectedVersion, TodoStatus status, Instant doneAt, Instant now) {
+        return repository.updateStatusIfModifiable(tenantId, id, expectedVersion, status.name(), doneAt, now);
+    }
+
+    @Override
+    public List<UUID> findOverdueIds(String tenantId, TodoStatus status, Instant now, int limit) {
+        return repository.findOverdueIds(tenantId, status, now, PageRequest.ofSize(limit));
+    }
+
+    @Override
+    public List<UUID> markPastDue(Collection<UUID> ids, TodoStatus notDone, TodoStatus pastDue, Instant now) {
+        return repository.markPastDue(ids, notDone.name(), pastDue.name(), now).stream()
+                .map(UUID::fromString)
+                .toList();
+    }
+
+    @Override
+    public List<TodoResponse> findPage(String tenantId, TodoQuery query, TodoQuery.Position after, Instant now, int limit) {
+        return repository.findPage(tenantId, query, after, now, limit);
+    }
+
+    @Override
+    public Stream<TodoResponse> stream(String tenantId, Set<TodoStatus> statuses) {
+        return statuses == null ? repository.streamAll(tenantId) : repository.streamAll(tenantId, statuses);
+    }
+
+    @Override
+    public List<DueDateEntry> findDueDates(TodoStatus status, DueDateEntry after, int limit) {
+        Pageable window = PageRequest.ofSize(limit);
+        return after == null
+                ? repository.findDueDates(status, window)
+                : repository.findDueDatesAfter(status, after.dueAt(), after.id(), window);
+    }
+}
@@ -0,0 +1,8 @@
+package com.example.todos.simpletodoservice.repository;
+
+import com.example.todos.simpletodoservice.domain.TodoStatus;
+
+/* Projection of a per-status item count */
+public record StatusCount(TodoStatus status,
+                          long count) {
+}
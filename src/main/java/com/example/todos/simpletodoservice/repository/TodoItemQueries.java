@@ -0,0 +1,16 @@
+package com.example.todos.simpletodoservice.repository;
+
+import com.example.todos.simpletodoservice.dto.TodoResponse;
+
+import java.time.Instant;
+import java.util.List;
+
+/* Queries of TodoItemRepository built at runtime from a TodoQuery instead of declared with @Query */
+public interface TodoItemQueries {
+
+    /*
+     * Keyset page of the tenant's items matching query, in its order, starting after the given position
+     * (from the beginning when null). Statuses are matched as reported at now.
+     */
+    List<TodoResponse> findPage(String tenantId, TodoQuery query, TodoQuery.Position after, Instant now, int limit);
+}
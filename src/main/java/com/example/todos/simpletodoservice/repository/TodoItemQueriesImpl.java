@@ -0,0 +1,113 @@
+package com.example.todos.simpletodoservice.repository;
+
+import com.example.todos.simpletodoservice.domain.TodoItem;
+import com.example.todos.simpletodoservice.domain.TodoStatus;
+import com.example.todos.simpletodoservice.dto.TodoResponse;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.criteria.*;
+import org.hibernate.jpa.HibernateHints;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+/*
+ * Criteria implementation of TodoItemQueries, picked up by Spring Data as a fragment of TodoItemRepository.
+ *
+ * Every query leads with tenant_id = ? and orders by (sort field, id), so it walks one of the tenant-leading
+ * indexes: (tenant_id, due_at, id) or (tenant_id, created_at, id) for the order and the range on the sort field,
+ * backwards for descending pages. The status and the other range are filtered as rows are read. Only the
+ * predicates that are set are added, so each combination of parameters compiles to its own plain statement rather
+ * than to "? is null or ..." guards the planner cannot see through.
+ * Rows are projected straight into TodoResponse and the query runs with flush mode MANUAL, like the other list queries.
+ */
+class TodoItemQueriesImpl implements TodoItemQueries {
+
+    private final EntityManager entityManager;
+
+    TodoItemQueriesImpl(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    @Override
+    public List<TodoResponse> findPage(String tenantId, TodoQuery query, TodoQuery.Position after, Instant now, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<TodoResponse> criteria = cb.createQuery(TodoResponse.class);
+        Root<TodoItem> t = criteria.from(TodoItem.class);
+        Path<Instant> dueAt = t.get("dueAt");
+        Path<Instant> createdAt = t.get("createdAt");
+        Path<UUID> id = t.get("id");
+        Path<Instant> key = query.sort().field() == TodoQuery.SortField.CREATED_AT ? createdAt : dueAt;
+        boolean descending = query.sort().descending();
+
+        List<Predicate> where = new ArrayList<>();
+        where.add(cb.equal(t.get("tenantId"), tenantId));
+        if (query.statuses() != null) {
+            where.add(statusMatches(cb, t.get("status"), dueAt, query.statuses(), now));
+        }
+        range(cb, where, dueAt, query.dueFrom(), query.dueTo());
+        range(cb, where, createdAt, query.createdFrom(), query.createdTo());
+        if (after != null) {
+            /* key >= ? and (key > ? or id > ?), mirrored for descending pages */
+            where.add(descending
+                    ? cb.lessThanOrEqualTo(key, after.key())
+                    : cb.greaterThanOrEqualTo(key, after.key()));
+            where.add(descending
+                    ? cb.or(cb.lessThan(key, after.key()), cb.lessThan(id, after.id()))
+                    : cb.or(cb.greaterThan(key, after.key()), cb.greaterThan(id, after.id())));
+        }
+
+        criteria.select(cb.construct(TodoResponse.class,
+                        id, t.get("description"), t.get("status"), createdAt, t.get("updatedAt"), dueAt,
+                        t.get("doneAt"), t.get("version")))
+                .where(where.toArray(Predicate[]::new))
+                .orderBy(descending
+                        ? List.of(cb.desc(key), cb.desc(id))
+                        : List.of(cb.asc(key), cb.asc(id)));
+
+        return entityManager.createQuery(criteria)
+                .setHint(HibernateHints.HINT_FLUSH_MODE, "MANUAL")
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
+    /*
+     * Stored statuses lag behind the clock until the scheduler persists PAST_DUE, so NOT_DONE and PAST_DUE are
+     * split on dueAt; asking for both (or for all three) needs no dueAt condition at all.
+     */
+    private static Predicate statusMatches(CriteriaBuilder cb, Path<TodoStatus> status, Path<Instant> dueAt,
+                                           Set<TodoStatus> statuses, Instant now) {
+        Set<TodoStatus> stored = EnumSet.noneOf(TodoStatus.class);
+        List<Predicate> any = new ArrayList<>();
+        if (statuses.contains(TodoStatus.DONE)) {
+            stored.add(TodoStatus.DONE);
+        }
+        boolean notDone = statuses.contains(TodoStatus.NOT_DONE);
+        boolean pastDue = statuses.contains(TodoStatus.PAST_DUE);
+        if (notDone && pastDue) {
+            stored.add(TodoStatus.NOT_DONE);
+            stored.add(TodoStatus.PAST_DUE);
+        } else if (notDone) {
+            any.add(cb.and(cb.equal(status, TodoStatus.NOT_DONE), cb.greaterThanOrEqualTo(dueAt, now)));
+        } else if (pastDue) {
+            stored.add(TodoStatus.PAST_DUE);
+            any.add(cb.and(cb.equal(status, TodoStatus.NOT_DONE), cb.lessThan(dueAt, now)));
+        }
+        if (!stored.isEmpty()) {
+            any.addFirst(stored.size() == 1 ? cb.equal(status, stored.iterator().next()) : status.in(stored));
+        }
+        return any.size() == 1 ? any.getFirst() : cb.or(any.toArray(Predicate[]::new));
+    }
+
+    private static void range(CriteriaBuilder cb, List<Predicate> where, Path<Instant> path, Instant from, Instant to) {
+        if (from != null) {
+            where.add(cb.greaterThanOrEqualTo(path, from));
+        }
+        if (to != null) {
+            where.add(cb.lessThan(path, to));
+        }
+    }
+}
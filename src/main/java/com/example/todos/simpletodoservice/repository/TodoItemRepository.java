@@ -2,32 +2,190 @@ package com.example.todos.simpletodoservice.repository;
 
 import com.example.todos.simpletodoservice.domain.TodoItem;
 import com.example.todos.simpletodoservice.domain.TodoStatus;
+import com.example.todos.simpletodoservice.dto.TodoResponse;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
-import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 
 import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Stream;
+
+public interface TodoItemRepository extends JpaRepository<TodoItem, UUID>, TodoItemQueries {
+
+    String EXPORT_FETCH_SIZE = "500";
 
-public interface TodoItemRepository extends JpaRepository<TodoItem, UUID> {
     public List<TodoItem> findAllByStatus(TodoStatus status);
 
-    @Modifying
+    /* Next tenant after the given one: a seek on the tenant-leading indexes that stops at the first row it finds */
+    @Query("select t.tenantId from TodoItem t where t.tenantId > :after order by t.tenantId")
+    List<String> findTenantIdsAfter(@Param("after") String after, Pageable pageable);
+
+    /* Answered from idx_todo_items_tenant_status_due_at alone */
     @Query("""
-        update TodoItem t
-            set t.status = :pastDue
-        where t.status <> :done
-          and t.status <> :pastDue
+        select new com.example.todos.simpletodoservice.repository.StatusCount(t.status, count(t))
+        from TodoItem t
+        where t.tenantId = :tenant
+        group by t.status
+    """)
+    List<StatusCount> countByStatus(@Param("tenant") String tenantId);
+
+    /*
+     * Rows (epoch minute, items) of the tenant's items in status with dueAt in [dueFrom, dueTo), aggregated in the
+     * database over that range of idx_todo_items_tenant_status_due_at
+     */
+    @Query(nativeQuery = true, value = """
+        select cast(floor(extract(epoch from due_at) / 60) as bigint) as due_minute, count(*) as items
+        from todo_items
+        where tenant_id = :tenant
+          and status = :status
+          and due_at >= :dueFrom
+          and due_at < :dueTo
+        group by cast(floor(extract(epoch from due_at) / 60) as bigint)
+    """)
+    List<Object[]> countByDueMinute(@Param("tenant") String tenantId,
+                                    @Param("status") String status,
+                                    @Param("dueFrom") Instant dueFrom,
+                                    @Param("dueTo") Instant dueTo);
+
+    /* Next slice of one tenant's overdue items, oldest dueAt first, off idx_todo_items_tenant_status_due_at */
+    @Query("""
+        select t.id from TodoItem t
+        where t.tenantId = :tenant
+          and t.status = :status
           and t.dueAt < :now
+        order by t.dueAt
+    """)
+    List<UUID> findOverdueIds(@Param("tenant") String tenantId,
+                              @Param("status") TodoStatus status,
+                              @Param("now") Instant now,
+                              Pageable pageable);
+
+    /*
+     * Returns the ids of the rows it changed, through the same data change delta table as the guarded writes below.
+     * A native scalar uuid column comes back as raw bytes, so the ids are returned as text.
+     */
+    @Query(nativeQuery = true, value = """
+        select cast(id as varchar) from final table (
+            update todo_items
+                set status = :pastDue,
+                    updated_at = :now,
+                    version = version + 1
+            where id in (:ids)
+              and status = :notDone
+              and due_at < :now
+        )
     """)
-    int markPastDue(
-            @Param("pastDue") TodoStatus pastDue,
-            @Param("done") TodoStatus done,
+    List<String> markPastDue(
+            @Param("ids") Collection<UUID> ids,
+            @Param("notDone") String notDone,
+            @Param("pastDue") String pastDue,
             @Param("now") Instant now
     );
 
-    @Query("select t from TodoItem t where t.status in (:statuses)")
-    List<TodoItem> findOpenItems(@Param("statuses") List<TodoStatus> statuses);
+    /*
+     * Guarded single-statement writes that return the updated row: H2's data change delta table
+     * (select from final table (update ...)) plays the part of UPDATE ... RETURNING.
+     * An item is modifiable while it is DONE, or NOT_DONE with dueAt not yet passed; a null version matches any.
+     * No row is returned when the item is missing, belongs to another tenant, is not modifiable or has another version;
+     * a status change is also skipped when the item already has that status.
+     */
+    @Query(nativeQuery = true, value = """
+        select * from final table (
+            update todo_items
+                set description = :description,
+                    updated_at = :now,
+                    version = version + 1
+            where id = :id
+              and tenant_id = :tenant
+              and (status = 'DONE' or (status = 'NOT_DONE' and due_at >= :now))
+              and (cast(:version as bigint) is null or version = :version)
+        )
+    """)
+    Optional<TodoItem> updateDescriptionIfModifiable(@Param("tenant") String tenantId,
+                                                     @Param("id") UUID id,
+                                                     @Param("version") Long version,
+                                                     @Param("description") String description,
+                                                     @Param("now") Instant now);
+
+    @Query(nativeQuery = true, value = """
+        select * from final table (
+            update todo_items
+                set status = :status,
+                    done_at = :doneAt,
+                    updated_at = :now,
+                    version = version + 1
+            where id = :id
+              and tenant_id = :tenant
+              and (status = 'DONE' or (status = 'NOT_DONE' and due_at >= :now))
+              and status <> :status
+              and (cast(:version as bigint) is null or version = :version)
+        )
+    """)
+    Optional<TodoItem> updateStatusIfModifiable(@Param("tenant") String tenantId,
+                                                @Param("id") UUID id,
+                                                @Param("version") Long version,
+                                                @Param("status") String status,
+                                                @Param("doneAt") Instant doneAt,
+                                                @Param("now") Instant now);
+
+    /*
+     * Whole-tenant exports as a forward-only cursor over TodoResponse projections, in list order. The driver fetches
+     * EXPORT_FETCH_SIZE rows per round trip; the stream must be consumed and closed inside the transaction.
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = EXPORT_FETCH_SIZE),
+            @QueryHint(name = HibernateHints.HINT_FLUSH_MODE, value = "MANUAL")
+    })
+    @Query("""
+        select new com.example.todos.simpletodoservice.dto.TodoResponse(
+            t.id, t.description, t.status, t.createdAt, t.updatedAt, t.dueAt, t.doneAt, t.version)
+        from TodoItem t
+        where t.tenantId = :tenant
+        order by t.dueAt, t.id
+    """)
+    Stream<TodoResponse> streamAll(@Param("tenant") String tenantId);
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = EXPORT_FETCH_SIZE),
+            @QueryHint(name = HibernateHints.HINT_FLUSH_MODE, value = "MANUAL")
+    })
+    @Query("""
+        select new com.example.todos.simpletodoservice.dto.TodoResponse(
+            t.id, t.description, t.status, t.createdAt, t.updatedAt, t.dueAt, t.doneAt, t.version)
+        from TodoItem t
+        where t.tenantId = :tenant
+          and t.status in (:statuses)
+        order by t.dueAt, t.id
+    """)
+    Stream<TodoResponse> streamAll(@Param("tenant") String tenantId,
+                                   @Param("statuses") Collection<TodoStatus> statuses);
+
+    @Query("""
+        select new com.example.todos.simpletodoservice.repository.DueDateEntry(t.id, t.dueAt)
+        from TodoItem t
+        where t.status = :status
+        order by t.dueAt, t.id
+    """)
+    List<DueDateEntry> findDueDates(@Param("status") TodoStatus status, Pageable pageable);
+
+    @Query("""
+        select new com.example.todos.simpletodoservice.repository.DueDateEntry(t.id, t.dueAt)
+        from TodoItem t
+        where t.status = :status
+          and t.dueAt >= :dueAt
+          and (t.dueAt > :dueAt or t.id > :id)
+        order by t.dueAt, t.id
+    """)
+    List<DueDateEntry> findDueDatesAfter(@Param("status") TodoStatus status,
+                                         @Param("dueAt") Instant dueAt,
+                                         @Param("id") UUID id,
+                                         Pageable pageable);
 }
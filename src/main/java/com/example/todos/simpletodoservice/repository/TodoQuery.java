@@ -0,0 +1,116 @@
+package com.example.todos.simpletodoservice.repository;
+
+import com.example.todos.simpletodoservice.domain.TodoItem;
+import com.example.todos.simpletodoservice.domain.TodoStatus;
+import com.example.todos.simpletodoservice.dto.TodoResponse;
+
+import java.time.Instant;
+import java.util.EnumSet;
+import java.util.Locale;
+import java.util.Set;
+import java.util.UUID;
+
+import static com.example.todos.simpletodoservice.constants.ErrorMessages.INVALID_RANGE;
+import static com.example.todos.simpletodoservice.constants.ErrorMessages.INVALID_SORT;
+
+/*
+ * Filters and order of a list page. Null bounds are open; ranges include their lower bound and exclude the upper one.
+ * statuses match the status reported to clients (NOT_DONE items past their dueAt count as PAST_DUE) and null
+ * matches every status. Pages are ordered by the sort field, then id, in the same direction.
+ */
+public record TodoQuery(Set<TodoStatus> statuses,
+                        Instant dueFrom,
+                        Instant dueTo,
+                        Instant createdFrom,
+                        Instant createdTo,
+                        Sort sort) {
+
+    public static final Set<TodoStatus> OPEN_STATUSES = EnumSet.of(TodoStatus.NOT_DONE, TodoStatus.PAST_DUE);
+
+    public enum SortField {
+        DUE_AT("dueAt"),
+        CREATED_AT("createdAt");
+
+        private final String property;
+
+        SortField(String property) {
+            this.property = property;
+        }
+
+        /* Entity property and request parameter name */
+        public String property() {
+            return property;
+        }
+    }
+
+    /* Parsed from "dueAt", "createdAt,desc" and the like; rendered back the same way */
+    public record Sort(SortField field, boolean descending) {
+
+        public static final Sort DEFAULT = new Sort(SortField.DUE_AT, false);
+
+        public static Sort parse(String value) {
+            if (value == null || value.isBlank()) {
+                return DEFAULT;
+            }
+            String[] parts = value.split(",", -1);
+            if (parts.length > 2) {
+                throw new IllegalArgumentException(INVALID_SORT);
+            }
+            SortField field = null;
+            for (SortField candidate : SortField.values()) {
+                if (candidate.property().equals(parts[0].trim())) {
+                    field = candidate;
+                }
+            }
+            String direction = parts.length == 2 ? parts[1].trim().toLowerCase(Locale.ROOT) : "asc";
+            if (field == null || !(direction.equals("asc") || direction.equals("desc"))) {
+                throw new IllegalArgumentException(INVALID_SORT);
+            }
+            return new Sort(field, direction.equals("desc"));
+        }
+
+        @Override
+        public String toString() {
+            return field.property() + (descending ? ",desc" : ",asc");
+        }
+    }
+
+    /* Keyset position: sort key and id of the last item of the previous page */
+    public record Position(Instant key, UUID id) {
+    }
+
+    public TodoQuery {
+        if (dueFrom != null && dueTo != null && !dueFrom.isBefore(dueTo)
+                || createdFrom != null && createdTo != null && !createdFrom.isBefore(createdTo)) {
+            throw new IllegalArgumentException(INVALID_RANGE);
+        }
+        statuses = statuses == null || statuses.isEmpty() ? null : Set.copyOf(statuses);
+        sort = sort == null ? Sort.DEFAULT : sort;
+    }
+
+    /* Every item, or only the open ones, in the default order */
+    public static TodoQuery of(boolean includeDone) {
+        return new TodoQuery(includeDone ? null : OPEN_STATUSES, null, null, null, null, Sort.DEFAULT);
+    }
+
+    public Position positionOf(TodoResponse item) {
+        return new Position(sort.field() == SortField.CREATED_AT ? item.createdAt() : item.dueAt(), item.id());
+    }
+
+    /* Whether a stored item passes every filter at now; engines without query compilation apply it per item */
+    public boolean matches(TodoItem item, Instant now) {
+        return (statuses == null || statuses.contains(reportedStatus(item, now)))
+                && within(item.getDueAt(), dueFrom, dueTo)
+                && within(item.getCreatedAt(), createdFrom, createdTo);
+    }
+
+    private static TodoStatus reportedStatus(TodoItem item, Instant now) {
+        return item.getStatus() == TodoStatus.NOT_DONE && item.getDueAt().isBefore(now)
+                ? TodoStatus.PAST_DUE
+                : item.getStatus();
+    }
+
+    private static boolean within(Instant value, Instant from, Instant to) {
+        return (from == null || !value.isBefore(from)) && (to == null || value.isBefore(to));
+    }
+}
@@ -0,0 +1,84 @@
+package com.example.todos.simpletodoservice.repository;
+
+import com.example.todos.simpletodoservice.domain.TodoItem;
+import com.example.todos.simpletodoservice.domain.TodoStatus;
+import com.example.todos.simpletodoservice.dto.TodoResponse;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+/*
+ * Storage engine behind TodoService, the scheduler and the sweeper, selected by todos.storage.engine
+ * (jpa by default, or memory). Items are partitioned by tenant: the request-facing reads and guarded writes
+ * take the tenant and never see another tenant's items, while id lookups and the due-date scans used by the
+ * scheduler work across tenants and leave ownership checks to the caller. Changes to a returned item are only stored by passing it to save,
+ * and save stamps createdAt / updatedAt and the version the way the entity lifecycle callbacks do.
+ * Saving an item whose version is no longer the stored one fails with OptimisticLockingFailureException.
+ */
+public interface TodoStore {
+
+    /* Inserts an item without an id (assigning one to it) or replaces the stored state of an existing one */
+    TodoItem save(TodoItem item);
+
+    List<TodoItem> saveAll(List<TodoItem> items);
+
+    Optional<TodoItem> findById(UUID id);
+
+    List<TodoItem> findAllById(Collection<UUID> ids);
+
+    List<TodoItem> findAll();
+
+    List<TodoItem> findAllByStatus(TodoStatus status);
+
+    long count();
+
+    /* Tenants that own at least one item */
+    List<String> findTenantIds();
+
+    /* Number of the tenant's items per stored status; statuses without items are left out */
+    Map<TodoStatus, Long> countByStatus(String tenantId);
+
+    /* Number of the tenant's items in status per due epoch minute, for dueAt in [from, to); empty minutes are left out */
+    Map<Long, Long> countByDueMinute(String tenantId, TodoStatus status, Instant from, Instant to);
+
+    void deleteAll();
+
+    /*
+     * Guarded writes in one statement, without loading the item first. The change is applied (stamping updatedAt
+     * with now and incrementing the version) only when the item is modifiable at now - DONE, or NOT_DONE with
+     * dueAt not before now - belongs to tenantId and, when expectedVersion is not null, still has that version.
+     * updateStatus also leaves an item that already has the status alone, so every status change it reports is a
+     * real transition. Returns the item as stored, or empty when nothing was changed.
+     */
+    Optional<TodoItem> updateDescription(String tenantId, UUID id, Long expectedVersion, String description, Instant now);
+
+    Optional<TodoItem> updateStatus(String tenantId, UUID id, Long expectedVersion, TodoStatus status, Instant doneAt, Instant now);
+
+    /* Next slice of the tenant's overdue items, oldest dueAt first */
+    List<UUID> findOverdueIds(String tenantId, TodoStatus status, Instant now, int limit);
+
+    /* Guarded transition: only rows still in notDone with dueAt before now are changed; returns the ids changed */
+    List<UUID> markPastDue(Collection<UUID> ids, TodoStatus notDone, TodoStatus pastDue, Instant now);
+
+    /*
+     * Keyset page of the tenant's items matching query, in its order, starting after the given position
+     * (from the beginning when null). Statuses are matched as reported at now, so a NOT_DONE item past its dueAt
+     * counts as PAST_DUE. Items come back as read-only TodoResponse projections.
+     */
+    List<TodoResponse> findPage(String tenantId, TodoQuery query, TodoQuery.Position after, Instant now, int limit);
+
+    /*
+     * Every item of the tenant matching statuses (all when null) as stored, ordered by (dueAt, id), produced lazily from a cursor.
+     * The caller must close the stream; on the JPA engine it must also be consumed inside a transaction.
+     */
+    Stream<TodoResponse> stream(String tenantId, Set<TodoStatus> statuses);
+
+    /* Due dates of items in the given status across all tenants, ordered by (dueAt, id) */
+    List<DueDateEntry> findDueDates(TodoStatus status, DueDateEntry after, int limit);
+}
@@ -0,0 +1,114 @@
+package com.example.todos.simpletodoservice.repository.wal;
+
+import com.example.todos.simpletodoservice.domain.TodoItem;
+import com.example.todos.simpletodoservice.domain.TodoStatus;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.UUID;
+
+/*
+ * One logged mutation. Every type except CLEAR carries the complete state of the item after the change,
+ * so replaying records in order is idempotent and the last record for an id wins.
+ *
+ * Payload layout: type (1), id (16), version (8), tenant id length (1) + ASCII bytes, status (1), presence flags (1),
+ * then for each present instant of
+ * dueAt, doneAt, createdAt, updatedAt: epoch seconds (8) + nanos (4), then description length (4) + UTF-8 bytes.
+ * Any change to it needs a new WriteAheadLog.FORMAT_VERSION.
+ */
+record WalRecord(Type type, TodoItem item) {
+
+    enum Type {
+        CREATE,
+        UPDATE,
+        STATUS_CHANGE,
+        CLEAR
+    }
+
+    private static final Type[] TYPES = Type.values();
+    private static final TodoStatus[] STATUSES = TodoStatus.values();
+    private static final int FIXED_SIZE = 1 + 16 + 8 + 1 + 1 + 1 + 4;
+    private static final int INSTANT_SIZE = 8 + 4;
+
+    static WalRecord clear() {
+        return new WalRecord(Type.CLEAR, null);
+    }
+
+    static WalRecord of(TodoItem previous, TodoItem current) {
+        Type type = previous == null ? Type.CREATE
+                : previous.getStatus() != current.getStatus() ? Type.STATUS_CHANGE
+                : Type.UPDATE;
+        return new WalRecord(type, current);
+    }
+
+    byte[] encode() {
+        if (type == Type.CLEAR) {
+            return new byte[]{(byte) type.ordinal()};
+        }
+        byte[] description = item.getDescription() == null
+                ? new byte[0]
+                : item.getDescription().getBytes(StandardCharsets.UTF_8);
+        /* tenant ids are validated to at most 64 ASCII characters before they reach the store */
+        byte[] tenantId = item.getTenantId().getBytes(StandardCharsets.US_ASCII);
+        Instant[] instants = {item.getDueAt(), item.getDoneAt(), item.getCreatedAt(), item.getUpdatedAt()};
+        int flags = 0;
+        int size = FIXED_SIZE + tenantId.length + description.length;
+        for (int i = 0; i < instants.length; i++) {
+            if (instants[i] != null) {
+                flags |= 1 << i;
+                size += INSTANT_SIZE;
+            }
+        }
+
+        ByteBuffer buffer = ByteBuffer.allocate(size);
+        buffer.put((byte) type.ordinal());
+        buffer.putLong(item.getId().getMostSignificantBits());
+        buffer.putLong(item.getId().getLeastSignificantBits());
+        buffer.putLong(item.getVersion());
+        buffer.put((byte) tenantId.length);
+        buffer.put(tenantId);
+        buffer.put((byte) item.getStatus().ordinal());
+        buffer.put((byte) flags);
+        for (Instant instant : instants) {
+            if (instant != null) {
+                buffer.putLong(instant.getEpochSecond());
+                buffer.putInt(instant.getNano());
+            }
+        }
+        buffer.putInt(description.length);
+        buffer.put(description);
+        return buffer.array();
+    }
+
+    static WalRecord decode(ByteBuffer payload) {
+        Type type = TYPES[payload.get()];
+        if (type == Type.CLEAR) {
+            return clear();
+        }
+        UUID id = new UUID(payload.getLong(), payload.getLong());
+        long version = payload.getLong();
+        byte[] tenantId = new byte[payload.get()];
+        payload.get(tenantId);
+        TodoStatus status = STATUSES[payload.get()];
+        int flags = payload.get();
+        Instant[] instants = new Instant[4];
+        for (int i = 0; i < instants.length; i++) {
+            if ((flags & (1 << i)) != 0) {
+                instants[i] = Instant.ofEpochSecond(payload.getLong(), payload.getInt());
+            }
+        }
+        byte[] description = new byte[payload.getInt()];
+        payload.get(description);
+
+        TodoItem item = new TodoItem(new String(tenantId, StandardCharsets.US_ASCII),
+                new String(description, StandardCharsets.UTF_8), instants[0]);
+        item.setId(id);
+        item.setStatus(status);
+        item.setDoneAt(instants[1]);
+        item.setCreatedAt(instants[2]);
+        item.setUpdatedAt(instants[3]);
+        item.setVersion(version);
+        return new WalRecord(type, item);
+    }
+}
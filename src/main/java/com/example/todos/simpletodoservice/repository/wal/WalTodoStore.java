@@ -0,0 +1,142 @@
+package com.example.todos.simpletodoservice.repository.wal;
+
+import com.example.todos.simpletodoservice.config.StorageProperties;
+import com.example.todos.simpletodoservice.domain.TodoItem;
+import com.example.todos.simpletodoservice.domain.TodoStatus;
+import com.example.todos.simpletodoservice.repository.InMemoryTodoStore;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Supplier;
+
+/*
+ * Durable variant of the in-memory engine: state is served from memory, and every write is appended to a
+ * WriteAheadLog as one frame and forced to disk before it is applied to memory, all under the stripe locks of its
+ * items. So the log order per item matches memory, readers never see a change that a crash could still lose, and a
+ * write whose append fails leaves memory untouched. Writers on other stripes share the fsync (group commit).
+ * On startup the state is rebuilt from the newest snapshot plus the segments after it.
+ */
+@Repository
+@ConditionalOnProperty(prefix = "todos.storage", name = "engine", havingValue = "wal")
+public class WalTodoStore extends InMemoryTodoStore implements DisposableBean {
+
+    private static final Logger logger = LoggerFactory.getLogger(WalTodoStore.class);
+
+    /* writers share it; a snapshot takes it exclusively only to seal the current segment */
+    private final ReentrantReadWriteLock snapshotLock = new ReentrantReadWriteLock();
+    private final WriteAheadLog log;
+    private long snapshotLsn;
+
+    public WalTodoStore(StorageProperties properties) {
+        super(properties);
+        StorageProperties.Wal wal = properties.wal();
+        this.log = WriteAheadLog.open(wal.directory(), Math.toIntExact(wal.segmentSize().toBytes()), this::replay);
+        logger.info("Recovered {} todo items from {}", count(), wal.directory().toAbsolutePath());
+    }
+
+    @Override
+    public TodoItem save(TodoItem item) {
+        return durably(() -> super.save(item));
+    }
+
+    @Override
+    public List<TodoItem> saveAll(List<TodoItem> items) {
+        return durably(() -> super.saveAll(items));
+    }
+
+    @Override
+    public Optional<TodoItem> updateDescription(String tenantId, UUID id, Long expectedVersion, String description, Instant now) {
+        return durably(() -> super.updateDescription(tenantId, id, expectedVersion, description, now));
+    }
+
+    @Override
+    public Optional<TodoItem> updateStatus(String tenantId, UUID id, Long expectedVersion, TodoStatus status, Instant doneAt, Instant now) {
+        return durably(() -> super.updateStatus(tenantId, id, expectedVersion, status, doneAt, now));
+    }
+
+    @Override
+    public List<UUID> markPastDue(Collection<UUID> ids, TodoStatus notDone, TodoStatus pastDue, Instant now) {
+        return durably(() -> super.markPastDue(ids, notDone, pastDue, now));
+    }
+
+    @Override
+    public void deleteAll() {
+        durably(() -> {
+            super.deleteAll();
+            return null;
+        });
+    }
+
+    @Scheduled(initialDelayString = "${todos.storage.wal.snapshot-interval:PT10M}",
+            fixedDelayString = "${todos.storage.wal.snapshot-interval:PT10M}")
+    public void scheduledSnapshot() {
+        snapshot();
+    }
+
+    /*
+     * Seals the current segment and writes the current state as the snapshot for it. Changes made while
+     * the state is copied may already be in the snapshot and are replayed again from the newer segments,
+     * which is harmless because every record carries the full item state.
+     */
+    public synchronized void snapshot() {
+        if (log.appendedLsn() == snapshotLsn) {
+            return;
+        }
+        long lsn;
+        long boundary;
+        snapshotLock.writeLock().lock();
+        try {
+            lsn = log.appendedLsn();
+            boundary = log.roll();
+        } finally {
+            snapshotLock.writeLock().unlock();
+        }
+        log.writeSnapshot(boundary, findAll());
+        snapshotLsn = lsn;
+    }
+
+    @Override
+    public void destroy() {
+        log.close();
+    }
+
+    @Override
+    protected void beforeApply(List<Change> changes) {
+        log.sync(log.append(changes.stream()
+                .map(change -> WalRecord.of(change.previous(), change.current()))
+                .toList()));
+    }
+
+    @Override
+    protected void beforeClear() {
+        log.sync(log.append(List.of(WalRecord.clear())));
+    }
+
+    private void replay(WalRecord record) {
+        if (record.type() == WalRecord.Type.CLEAR) {
+            restoreEmpty();
+        } else {
+            restore(record.item());
+        }
+    }
+
+    /* The write itself is forced to disk in beforeApply; the read lock only keeps a snapshot from rolling under it */
+    private <T> T durably(Supplier<T> write) {
+        snapshotLock.readLock().lock();
+        try {
+            return write.get();
+        } finally {
+            snapshotLock.readLock().unlock();
+        }
+    }
+}
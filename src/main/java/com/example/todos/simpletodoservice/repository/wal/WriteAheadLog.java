@@ -0,0 +1,394 @@
+package com.example.todos.simpletodoservice.repository.wal;
+
+import com.example.todos.simpletodoservice.domain.TodoItem;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.zip.CRC32C;
+
+/*
+ * Append-only log of WalRecords in fixed-size, memory-mapped segment files.
+ *
+ * Segments and snapshots start with a format version byte; a file of another version is refused at startup
+ * rather than misread. After it come frames of length (4) + CRC32C of the payload (4) + payload, where the payload
+ * holds the records of one write: count (4), then length (4) + bytes per record. A frame replays completely or not
+ * at all, so a batch torn by a crash is dropped as a whole. A zero length marks the end of a segment's data.
+ * Appending only copies into the mapped segment. sync() makes everything appended so far durable with one force()
+ * of the current segment: while one caller forces, the others queue on the flush lock and usually find their
+ * frames already covered when they get it (group commit). A full segment is forced before the next one is opened.
+ *
+ * A snapshot (snapshot-N) holds the complete state as of the start of segment N; segments before N and
+ * older snapshots are deleted once it is in place. Recovery loads the newest snapshot and replays the
+ * segments from N on, stopping at the first torn or corrupt frame of the last segment.
+ */
+final class WriteAheadLog implements Closeable {
+
+    private static final Logger logger = LoggerFactory.getLogger(WriteAheadLog.class);
+
+    /* bumped whenever the layout of the header, frames or records changes */
+    static final byte FORMAT_VERSION = 1;
+    private static final int FILE_HEADER = 1;
+    private static final int FRAME_HEADER = 8;
+    private static final int MIN_SEGMENT_SIZE = 64 * 1024;
+    private static final String SEGMENT_PREFIX = "segment-";
+    private static final String SEGMENT_SUFFIX = ".log";
+    private static final String SNAPSHOT_PREFIX = "snapshot-";
+    private static final String SNAPSHOT_SUFFIX = ".snap";
+
+    private final Path directory;
+    private final int segmentSize;
+    private final ReentrantLock appendLock = new ReentrantLock();
+    private final ReentrantLock flushLock = new ReentrantLock();
+
+    /* guarded by appendLock */
+    private Segment current;
+    private boolean closed;
+    private volatile long appendedLsn;
+    private volatile long durableLsn;
+
+    private WriteAheadLog(Path directory, int segmentSize, Segment current) {
+        this.directory = directory;
+        this.segmentSize = segmentSize;
+        this.current = current;
+    }
+
+    /* Replays the snapshot and segments into replay, then opens the last segment for appending */
+    static WriteAheadLog open(Path directory, int segmentSize, Consumer<WalRecord> replay) {
+        if (segmentSize < MIN_SEGMENT_SIZE) {
+            throw new IllegalArgumentException("segmentSize must be at least " + MIN_SEGMENT_SIZE + " bytes");
+        }
+        try {
+            Files.createDirectories(directory);
+            Files.deleteIfExists(directory.resolve(SNAPSHOT_PREFIX + "tmp"));
+            List<Long> snapshots = sequences(directory, SNAPSHOT_PREFIX, SNAPSHOT_SUFFIX);
+            long start = snapshots.isEmpty() ? 1 : snapshots.get(snapshots.size() - 1);
+            if (!snapshots.isEmpty()) {
+                Path snapshot = snapshotPath(directory, start);
+                if (!replay(snapshot, replay).complete()) {
+                    throw new IllegalStateException("Corrupt snapshot " + snapshot);
+                }
+            }
+
+            List<Long> segments = sequences(directory, SEGMENT_PREFIX, SEGMENT_SUFFIX).stream()
+                    .filter(sequence -> sequence >= start)
+                    .toList();
+            int end = 0;
+            boolean torn = false;
+            for (int i = 0; i < segments.size(); i++) {
+                Path segment = segmentPath(directory, segments.get(i));
+                ReplayResult result = replay(segment, replay);
+                boolean last = i == segments.size() - 1;
+                if (!result.complete() && !last) {
+                    throw new IllegalStateException("Corrupt record in sealed segment " + segment + " at " + result.end());
+                }
+                if (!result.complete()) {
+                    logger.warn("Discarding torn tail of {} after offset {}", segment, result.end());
+                }
+                end = result.end();
+                torn = !result.complete();
+            }
+
+            long sequence = segments.isEmpty() ? start : segments.get(segments.size() - 1);
+            Segment segment = Segment.open(segmentPath(directory, sequence), sequence, segmentSize, end);
+            if (torn) {
+                segment.zeroTail();
+            }
+            WriteAheadLog log = new WriteAheadLog(directory, segmentSize, segment);
+            log.deleteBefore(start);
+            return log;
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    /*
+     * Appends the records of one write as a single frame and returns its log sequence number; the frame is durable
+     * once sync has been called with it
+     */
+    long append(List<WalRecord> records) {
+        byte[] payload = encode(records);
+        if (FILE_HEADER + FRAME_HEADER + payload.length > segmentSize) {
+            throw new IllegalArgumentException("Write of " + payload.length + " bytes does not fit a segment");
+        }
+        CRC32C crc = new CRC32C();
+        crc.update(payload);
+
+        appendLock.lock();
+        try {
+            ensureOpen();
+            if (current.buffer().remaining() < FRAME_HEADER + payload.length) {
+                rollLocked();
+            }
+            current.buffer().putInt(payload.length);
+            current.buffer().putInt((int) crc.getValue());
+            current.buffer().put(payload);
+            appendedLsn++;
+            return appendedLsn;
+        } finally {
+            appendLock.unlock();
+        }
+    }
+
+    long appendedLsn() {
+        return appendedLsn;
+    }
+
+    void sync(long lsn) {
+        if (durableLsn >= lsn) {
+            return;
+        }
+        flushLock.lock();
+        try {
+            if (durableLsn >= lsn) {
+                return;
+            }
+            Segment segment;
+            long target;
+            appendLock.lock();
+            try {
+                segment = current;
+                target = appendedLsn;
+            } finally {
+                appendLock.unlock();
+            }
+            segment.buffer().force();
+            durableLsn = target;
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    /* Seals the current segment; every record appended so far lies before the returned segment sequence */
+    long roll() {
+        appendLock.lock();
+        try {
+            ensureOpen();
+            rollLocked();
+            return current.sequence();
+        } finally {
+            appendLock.unlock();
+        }
+    }
+
+    /* Writes the state as of the start of segment boundary, then drops the segments and snapshots it replaces */
+    void writeSnapshot(long boundary, Collection<TodoItem> items) {
+        Path temporary = directory.resolve(SNAPSHOT_PREFIX + "tmp");
+        try {
+            try (FileChannel channel = FileChannel.open(temporary,
+                    StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+                DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Channels.newOutputStream(channel), 1 << 16));
+                out.writeByte(FORMAT_VERSION);
+                CRC32C crc = new CRC32C();
+                for (TodoItem item : items) {
+                    byte[] payload = encode(List.of(new WalRecord(WalRecord.Type.CREATE, item)));
+                    crc.reset();
+                    crc.update(payload);
+                    out.writeInt(payload.length);
+                    out.writeInt((int) crc.getValue());
+                    out.write(payload);
+                }
+                out.flush();
+                channel.force(true);
+            }
+            Files.move(temporary, snapshotPath(directory, boundary), StandardCopyOption.ATOMIC_MOVE);
+            syncDirectory();
+            deleteBefore(boundary);
+            logger.info("Wrote snapshot of {} todo items before segment {}", items.size(), boundary);
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    @Override
+    public void close() {
+        sync(appendedLsn);
+        appendLock.lock();
+        try {
+            if (!closed) {
+                closed = true;
+                current.channel().close();
+            }
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        } finally {
+            appendLock.unlock();
+        }
+    }
+
+    private void rollLocked() {
+        try {
+            current.buffer().force();
+            current.channel().close();
+            long sequence = current.sequence() + 1;
+            current = Segment.open(segmentPath(directory, sequence), sequence, segmentSize, 0);
+            syncDirectory();
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    private void ensureOpen() {
+        if (closed) {
+            throw new IllegalStateException("Write-ahead log is closed");
+        }
+    }
+
+    private void deleteBefore(long boundary) throws IOException {
+        for (long sequence : sequences(directory, SEGMENT_PREFIX, SEGMENT_SUFFIX)) {
+            if (sequence < boundary) {
+                Files.deleteIfExists(segmentPath(directory, sequence));
+            }
+        }
+        for (long sequence : sequences(directory, SNAPSHOT_PREFIX, SNAPSHOT_SUFFIX)) {
+            if (sequence < boundary) {
+                Files.deleteIfExists(snapshotPath(directory, sequence));
+            }
+        }
+    }
+
+    /* Makes created, renamed and deleted entries durable; not every platform can open a directory */
+    private void syncDirectory() {
+        try (FileChannel channel = FileChannel.open(directory, StandardOpenOption.READ)) {
+            channel.force(true);
+        } catch (IOException ex) {
+            logger.debug("Could not sync directory {}", directory, ex);
+        }
+    }
+
+    private static byte[] encode(List<WalRecord> records) {
+        List<byte[]> encoded = records.stream().map(WalRecord::encode).toList();
+        ByteBuffer payload = ByteBuffer.allocate(4 + encoded.stream().mapToInt(record -> 4 + record.length).sum());
+        payload.putInt(encoded.size());
+        for (byte[] record : encoded) {
+            payload.putInt(record.length);
+            payload.put(record);
+        }
+        return payload.array();
+    }
+
+    /* Decodes the whole frame before replaying any of it */
+    private static void replayFrame(ByteBuffer payload, Consumer<WalRecord> replay) {
+        int count = payload.getInt();
+        List<WalRecord> records = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            int length = payload.getInt();
+            records.add(WalRecord.decode(payload.slice(payload.position(), length)));
+            payload.position(payload.position() + length);
+        }
+        records.forEach(replay);
+    }
+
+    private static ReplayResult replay(Path file, Consumer<WalRecord> replay) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            if (buffer.remaining() < FILE_HEADER + FRAME_HEADER
+                    || buffer.get(0) == 0 && buffer.getInt(FILE_HEADER) == 0) {
+                /* created, but its header never reached the disk */
+                return new ReplayResult(0, true);
+            }
+            byte version = buffer.get();
+            if (version != FORMAT_VERSION) {
+                throw new IllegalStateException("Unsupported write-ahead log format version " + version + " in " + file
+                        + " (expected " + FORMAT_VERSION + ")");
+            }
+            CRC32C crc = new CRC32C();
+            while (buffer.remaining() >= FRAME_HEADER) {
+                int start = buffer.position();
+                int length = buffer.getInt();
+                if (length == 0) {
+                    return new ReplayResult(start, true);
+                }
+                if (length < 0 || length > buffer.remaining() - 4) {
+                    return new ReplayResult(start, false);
+                }
+                int checksum = buffer.getInt();
+                ByteBuffer payload = buffer.slice(buffer.position(), length);
+                crc.reset();
+                crc.update(payload.duplicate());
+                if ((int) crc.getValue() != checksum) {
+                    return new ReplayResult(start, false);
+                }
+                replayFrame(payload, replay);
+                buffer.position(buffer.position() + length);
+            }
+            /* a sealed segment may end in fewer unused bytes than a frame header */
+            int end = buffer.position();
+            boolean clean = true;
+            while (buffer.hasRemaining()) {
+                clean &= buffer.get() == 0;
+            }
+            return new ReplayResult(end, clean);
+        }
+    }
+
+    private static List<Long> sequences(Path directory, String prefix, String suffix) throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.map(path -> path.getFileName().toString())
+                    .filter(name -> name.startsWith(prefix) && name.endsWith(suffix))
+                    .map(name -> Long.parseLong(name.substring(prefix.length(), name.length() - suffix.length())))
+                    .sorted()
+                    .toList();
+        }
+    }
+
+    private static Path segmentPath(Path directory, long sequence) {
+        return directory.resolve(SEGMENT_PREFIX + "%020d".formatted(sequence) + SEGMENT_SUFFIX);
+    }
+
+    private static Path snapshotPath(Path directory, long sequence) {
+        return directory.resolve(SNAPSHOT_PREFIX + "%020d".formatted(sequence) + SNAPSHOT_SUFFIX);
+    }
+
+    private record ReplayResult(int end, boolean complete) {
+    }
+
+    private record Segment(long sequence, FileChannel channel, MappedByteBuffer buffer) {
+
+        /*
+         * Existing segments keep their size, so changing segmentSize only affects new ones. A segment without data
+         * (position 0) gets its format version header first, forced before any frame can be appended behind it.
+         */
+        static Segment open(Path path, long sequence, int segmentSize, int position) throws IOException {
+            FileChannel channel = FileChannel.open(path,
+                    StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            long size = Math.max(channel.size(), segmentSize);
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+            if (position == 0) {
+                buffer.put(0, FORMAT_VERSION);
+                buffer.force();
+                position = FILE_HEADER;
+            }
+            buffer.position(position);
+            return new Segment(sequence, channel, buffer);
+        }
+
+        /* Clears a torn tail so stale bytes after the append position can never replay as records */
+        void zeroTail() {
+            byte[] zeros = new byte[8192];
+            ByteBuffer tail = buffer.slice(buffer.position(), buffer.limit() - buffer.position());
+            while (tail.hasRemaining()) {
+                tail.put(zeros, 0, Math.min(zeros.length, tail.remaining()));
+            }
+            buffer.force();
+        }
+    }
+}
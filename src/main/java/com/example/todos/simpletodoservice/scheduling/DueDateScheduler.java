@@ -0,0 +1,147 @@
+package com.example.todos.simpletodoservice.scheduling;
+
+import com.example.todos.simpletodoservice.config.DueDateTimerProperties;
+import com.example.todos.simpletodoservice.domain.TodoStatus;
+import com.example.todos.simpletodoservice.event.TodoChangeType;
+import com.example.todos.simpletodoservice.event.TodoChangedEvent;
+import com.example.todos.simpletodoservice.mapper.TodoMapper;
+import com.example.todos.simpletodoservice.repository.DueDateEntry;
+import com.example.todos.simpletodoservice.repository.TodoStore;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/*
+ * Keeps one timer per NOT_DONE item and persists the PAST_DUE transition the moment its dueAt passes.
+ * Loaded from the table at startup and kept current from committed create / done / not-done changes: a timer armed
+ * before its row commits could fire, match nothing and lose the transition to the sweeper.
+ * PastDueSweeper remains as a coarse backstop for rows written outside this process.
+ */
+@Component
+public class DueDateScheduler implements DisposableBean {
+
+    private static final Logger logger = LoggerFactory.getLogger(DueDateScheduler.class);
+
+    private final TodoStore store;
+    private final TransactionTemplate transactionTemplate;
+    private final DueDateTimerProperties properties;
+    private final ExecutorService transitionExecutor;
+    private final HierarchicalTimingWheel<UUID> wheel;
+    private final Counter transitioned;
+    private final DistributionSummary rowsAffected;
+    private final ApplicationEventPublisher events;
+
+    public DueDateScheduler(TodoStore store,
+                            PlatformTransactionManager transactionManager,
+                            DueDateTimerProperties properties,
+                            MeterRegistry meterRegistry,
+                            ApplicationEventPublisher events) {
+        this.store = store;
+        this.events = events;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.properties = properties;
+        /* a single writer keeps transitions serial and off the reaper thread */
+        this.transitionExecutor = Executors.newSingleThreadExecutor(
+                Thread.ofPlatform().daemon().name("todo-past-due-transition").factory());
+        this.wheel = new HierarchicalTimingWheel<>(properties.tick(),
+                properties.wheelSize(),
+                transitionExecutor,
+                this::markPastDue,
+                "todo-due-date-timer");
+        this.transitioned = Counter.builder("todos.past_due.timer.transitioned")
+                .description("Items moved to PAST_DUE by the due-date timer")
+                .register(meterRegistry);
+        this.rowsAffected = DistributionSummary.builder("todos.past_due.rows")
+                .description("Rows changed per markPastDue update")
+                .tag("source", "timer")
+                .register(meterRegistry);
+        Gauge.builder("todos.past_due.timer.pending", wheel, HierarchicalTimingWheel::size)
+                .description("NOT_DONE items with a pending due-date timer")
+                .register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadPendingDueDates() {
+        if (!properties.enabled()) {
+            return;
+        }
+        List<DueDateEntry> batch = store.findDueDates(TodoStatus.NOT_DONE, null, properties.loadBatchSize());
+        int loaded = 0;
+        while (!batch.isEmpty()) {
+            batch.forEach(entry -> wheel.schedule(entry.id(), entry.dueAt()));
+            loaded += batch.size();
+            DueDateEntry last = batch.get(batch.size() - 1);
+            batch = batch.size() < properties.loadBatchSize()
+                    ? List.of()
+                    : store.findDueDates(TodoStatus.NOT_DONE, last, properties.loadBatchSize());
+        }
+        logger.info("Loaded {} pending due dates into the timer", loaded);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTodoChanged(TodoChangedEvent event) {
+        switch (event.type()) {
+            case CREATED, NOT_DONE -> {
+                if (event.item().status() == TodoStatus.NOT_DONE) {
+                    schedule(event.id(), event.item().dueAt());
+                }
+            }
+            case DONE, PAST_DUE -> cancel(event.id());
+            case DESCRIPTION_UPDATED -> {
+            }
+        }
+    }
+
+    public void schedule(UUID id, Instant dueAt) {
+        if (properties.enabled()) {
+            wheel.schedule(id, dueAt);
+        }
+    }
+
+    public void cancel(UUID id) {
+        if (properties.enabled()) {
+            wheel.cancel(id);
+        }
+    }
+
+    private void markPastDue(UUID id) {
+        /* guarded update: a no-op if the item was completed, deleted or already moved meanwhile */
+        Integer updated = transactionTemplate.execute(status -> {
+            int rows = store.markPastDue(List.of(id), TodoStatus.NOT_DONE, TodoStatus.PAST_DUE, Instant.now()).size();
+            if (rows > 0) {
+                /* the wheel only knows the id; the item is read back for its tenant, by primary key in the same transaction */
+                store.findById(id).ifPresent(item -> events.publishEvent(
+                        new TodoChangedEvent(TodoChangeType.PAST_DUE, id, item.getTenantId(), TodoMapper.toResponse(item))));
+            }
+            return rows;
+        });
+        rowsAffected.record(updated == null ? 0 : updated);
+        if (updated != null && updated > 0) {
+            transitioned.increment();
+            logger.debug("Marked todo item {} as PAST_DUE", id);
+        }
+    }
+
+    @Override
+    public void destroy() {
+        wheel.close();
+        transitionExecutor.shutdown();
+    }
+}
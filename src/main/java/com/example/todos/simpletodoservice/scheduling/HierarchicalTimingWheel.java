@@ -0,0 +1,311 @@
+package com.example.todos.simpletodoservice.scheduling;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.DelayQueue;
+import java.util.concurrent.Delayed;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+
+/*
+ * Hierarchical timing wheel keyed by K (one pending deadline per key).
+ * Scheduling and cancelling are O(1); a single reaper thread only wakes up for non-empty buckets,
+ * which are ordered in a DelayQueue, and cascades entries from coarser levels into finer ones as time advances.
+ * Expired keys are handed to onExpiry on the supplied executor.
+ */
+public class HierarchicalTimingWheel<K> implements AutoCloseable {
+
+    private static final Logger logger = LoggerFactory.getLogger(HierarchicalTimingWheel.class);
+    private static final long REAPER_POLL_MS = 200;
+
+    private final DelayQueue<Bucket<K>> delayQueue = new DelayQueue<>();
+    private final ConcurrentHashMap<K, Entry<K>> entries = new ConcurrentHashMap<>();
+    private final ReentrantReadWriteLock clockLock = new ReentrantReadWriteLock();
+    private final Level root;
+    private final Executor expiryExecutor;
+    private final Consumer<K> onExpiry;
+    private final Thread reaper;
+    private volatile boolean running = true;
+
+    public HierarchicalTimingWheel(Duration tick, int wheelSize, Executor expiryExecutor, Consumer<K> onExpiry, String threadName) {
+        if (tick.toMillis() < 1 || wheelSize < 2) {
+            throw new IllegalArgumentException("tick must be at least 1ms and wheelSize at least 2");
+        }
+        this.root = new Level(tick.toMillis(), wheelSize, System.currentTimeMillis());
+        this.expiryExecutor = expiryExecutor;
+        this.onExpiry = onExpiry;
+        this.reaper = Thread.ofPlatform().daemon().name(threadName).start(this::runReaper);
+    }
+
+    /* Schedules key to expire after deadline, replacing any deadline already pending for it */
+    public void schedule(K key, Instant deadline) {
+        /* buckets fire at the start of their slot, so shift by one tick to never fire before the deadline */
+        Entry<K> entry = new Entry<>(key, deadline.toEpochMilli() + root.tickMs);
+        Entry<K> previous = entries.put(key, entry);
+        if (previous != null) {
+            previous.cancel();
+        }
+        clockLock.readLock().lock();
+        try {
+            insert(entry);
+        } finally {
+            clockLock.readLock().unlock();
+        }
+    }
+
+    /* Returns true when a pending deadline was removed */
+    public boolean cancel(K key) {
+        Entry<K> entry = entries.remove(key);
+        if (entry == null) {
+            return false;
+        }
+        entry.cancel();
+        return true;
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    @Override
+    public void close() {
+        running = false;
+        reaper.interrupt();
+    }
+
+    private void insert(Entry<K> entry) {
+        if (!root.add(entry)) {
+            expire(entry);
+        }
+    }
+
+    private void expire(Entry<K> entry) {
+        /* a replaced or cancelled entry is no longer mapped, so it never fires */
+        if (entries.remove(entry.key, entry)) {
+            expiryExecutor.execute(() -> {
+                try {
+                    onExpiry.accept(entry.key);
+                } catch (RuntimeException ex) {
+                    logger.error("Timer expiry handler failed. key={}", entry.key, ex);
+                }
+            });
+        }
+    }
+
+    private void runReaper() {
+        while (running) {
+            try {
+                Bucket<K> bucket = delayQueue.poll(REAPER_POLL_MS, TimeUnit.MILLISECONDS);
+                if (bucket == null) {
+                    continue;
+                }
+                clockLock.writeLock().lock();
+                try {
+                    while (bucket != null) {
+                        root.advanceClock(bucket.getExpiration());
+                        bucket.flush(this::insert);
+                        bucket = delayQueue.poll();
+                    }
+                } finally {
+                    clockLock.writeLock().unlock();
+                }
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    /* One wheel of the hierarchy; the overflow level has a tick equal to this level's full interval */
+    private final class Level {
+
+        private final long tickMs;
+        private final int wheelSize;
+        private final long interval;
+        private final Bucket<K>[] buckets;
+        private final ReentrantLock overflowLock = new ReentrantLock();
+        private volatile long currentTime;
+        private volatile Level overflow;
+
+        @SuppressWarnings("unchecked")
+        Level(long tickMs, int wheelSize, long startMs) {
+            this.tickMs = tickMs;
+            this.wheelSize = wheelSize;
+            this.interval = tickMs * wheelSize;
+            this.buckets = new Bucket[wheelSize];
+            for (int i = 0; i < wheelSize; i++) {
+                buckets[i] = new Bucket<>();
+            }
+            this.currentTime = startMs - (startMs % tickMs);
+        }
+
+        /* Returns false when the entry is already due and must fire now */
+        boolean add(Entry<K> entry) {
+            long expiration = entry.expirationMs;
+            if (entry.cancelled) {
+                return true;
+            }
+            if (expiration < currentTime + tickMs) {
+                return false;
+            }
+            if (expiration < currentTime + interval) {
+                long virtualId = expiration / tickMs;
+                Bucket<K> bucket = buckets[(int) (virtualId % wheelSize)];
+                bucket.add(entry);
+                /* only enqueue a bucket when it is reused for a new round */
+                if (bucket.setExpiration(virtualId * tickMs)) {
+                    delayQueue.offer(bucket);
+                }
+                return true;
+            }
+            return overflow().add(entry);
+        }
+
+        void advanceClock(long timeMs) {
+            if (timeMs >= currentTime + tickMs) {
+                currentTime = timeMs - (timeMs % tickMs);
+                Level next = overflow;
+                if (next != null) {
+                    next.advanceClock(currentTime);
+                }
+            }
+        }
+
+        private Level overflow() {
+            Level next = overflow;
+            if (next == null) {
+                overflowLock.lock();
+                try {
+                    next = overflow;
+                    if (next == null) {
+                        next = new Level(interval, wheelSize, currentTime);
+                        overflow = next;
+                    }
+                } finally {
+                    overflowLock.unlock();
+                }
+            }
+            return next;
+        }
+    }
+
+    /* Doubly linked list of entries sharing one expiration slot */
+    private static final class Bucket<K> implements Delayed {
+
+        private final AtomicLong expiration = new AtomicLong(-1);
+        private final ReentrantLock lock = new ReentrantLock();
+        private final Entry<K> head = new Entry<>(null, -1);
+
+        Bucket() {
+            head.next = head;
+            head.prev = head;
+        }
+
+        void add(Entry<K> entry) {
+            boolean added = false;
+            while (!added) {
+                /* detach from any other bucket first, then link here unless someone else did */
+                entry.detach();
+                lock.lock();
+                try {
+                    if (entry.bucket == null) {
+                        Entry<K> tail = head.prev;
+                        entry.next = head;
+                        entry.prev = tail;
+                        tail.next = entry;
+                        head.prev = entry;
+                        entry.bucket = this;
+                        added = true;
+                    }
+                } finally {
+                    lock.unlock();
+                }
+            }
+        }
+
+        void remove(Entry<K> entry) {
+            lock.lock();
+            try {
+                if (entry.bucket == this) {
+                    entry.next.prev = entry.prev;
+                    entry.prev.next = entry.next;
+                    entry.next = null;
+                    entry.prev = null;
+                    entry.bucket = null;
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        void flush(Consumer<Entry<K>> reinsert) {
+            lock.lock();
+            try {
+                Entry<K> entry = head.next;
+                while (entry != head) {
+                    remove(entry);
+                    reinsert.accept(entry);
+                    entry = head.next;
+                }
+                expiration.set(-1);
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        /* Returns true when the expiration changed, i.e. the bucket must be (re)queued */
+        boolean setExpiration(long expirationMs) {
+            return expiration.getAndSet(expirationMs) != expirationMs;
+        }
+
+        long getExpiration() {
+            return expiration.get();
+        }
+
+        @Override
+        public long getDelay(TimeUnit unit) {
+            return unit.convert(Math.max(getExpiration() - System.currentTimeMillis(), 0), TimeUnit.MILLISECONDS);
+        }
+
+        @Override
+        public int compareTo(Delayed other) {
+            return Long.compare(getExpiration(), ((Bucket<?>) other).getExpiration());
+        }
+    }
+
+    private static final class Entry<K> {
+
+        private final K key;
+        private final long expirationMs;
+        private volatile Bucket<K> bucket;
+        private volatile boolean cancelled;
+        private Entry<K> next;
+        private Entry<K> prev;
+
+        Entry(K key, long expirationMs) {
+            this.key = key;
+            this.expirationMs = expirationMs;
+        }
+
+        void cancel() {
+            cancelled = true;
+            detach();
+        }
+
+        void detach() {
+            Bucket<K> current = bucket;
+            while (current != null) {
+                current.remove(this);
+                current = bucket;
+            }
+        }
+    }
+}
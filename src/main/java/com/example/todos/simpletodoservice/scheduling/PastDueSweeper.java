@@ -0,0 +1,113 @@
+package com.example.todos.simpletodoservice.scheduling;
+
+import com.example.todos.simpletodoservice.config.PastDueSweeperProperties;
+import com.example.todos.simpletodoservice.domain.TodoStatus;
+import com.example.todos.simpletodoservice.event.TodoChangeType;
+import com.example.todos.simpletodoservice.event.TodoChangedEvent;
+import com.example.todos.simpletodoservice.repository.TodoStore;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import java.util.UUID;
+
+/*
+ * Backstop that moves overdue NOT_DONE items to PAST_DUE off the request path, for rows the
+ * DueDateScheduler never saw (written by another instance or directly to the table).
+ * The sweep is partitioned by tenant: each batch is the next slice of one tenant's overdue rows in dueAt order,
+ * read off the tenant-leading index, and runs in its own short transaction, so a large backlog never holds row locks
+ * for the whole table at once. Tenants take turns one batch at a time, so a tenant with a huge backlog does not
+ * delay the transitions of the others until its own are done.
+ */
+@Component
+@ConditionalOnProperty(prefix = "todos.past-due-sweeper", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class PastDueSweeper {
+
+    private static final Logger logger = LoggerFactory.getLogger(PastDueSweeper.class);
+
+    private final TodoStore store;
+    private final TransactionTemplate transactionTemplate;
+    private final PastDueSweeperProperties properties;
+    private final Counter transitioned;
+    private final Timer sweepDuration;
+    private final DistributionSummary rowsAffected;
+    private final ApplicationEventPublisher events;
+
+    public PastDueSweeper(TodoStore store,
+                          PlatformTransactionManager transactionManager,
+                          PastDueSweeperProperties properties,
+                          MeterRegistry meterRegistry,
+                          ApplicationEventPublisher events) {
+        this.store = store;
+        this.events = events;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.properties = properties;
+        this.transitioned = Counter.builder("todos.past_due.sweep.transitioned")
+                .description("Items moved to PAST_DUE by the background sweeper")
+                .register(meterRegistry);
+        this.sweepDuration = Timer.builder("todos.past_due.sweep.duration")
+                .description("Time taken by one full past-due sweep")
+                .register(meterRegistry);
+        this.rowsAffected = DistributionSummary.builder("todos.past_due.rows")
+                .description("Rows changed per markPastDue update")
+                .tag("source", "sweeper")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(initialDelayString = "${todos.past-due-sweeper.interval:PT5M}",
+            fixedDelayString = "${todos.past-due-sweeper.interval:PT5M}")
+    public void scheduledSweep() {
+        sweep();
+    }
+
+    /* Returns the number of items transitioned */
+    public int sweep() {
+        return sweepDuration.record(() -> {
+            Instant now = Instant.now();
+            int total = 0;
+            Deque<String> pending = new ArrayDeque<>(store.findTenantIds());
+            while (!pending.isEmpty()) {
+                String tenantId = pending.poll();
+                BatchResult batch = transactionTemplate.execute(status -> sweepBatch(tenantId, now));
+                total += batch.updated();
+                if (batch.selected() == properties.batchSize() && batch.updated() > 0) {
+                    pending.add(tenantId);
+                }
+            }
+
+            if (total > 0) {
+                transitioned.increment(total);
+                logger.info("Marked {} todo items as PAST_DUE", total);
+            }
+            return total;
+        });
+    }
+
+    private BatchResult sweepBatch(String tenantId, Instant now) {
+        List<UUID> ids = store.findOverdueIds(tenantId, TodoStatus.NOT_DONE, now, properties.batchSize());
+        if (ids.isEmpty()) {
+            return new BatchResult(0, 0);
+        }
+        List<UUID> updated = store.markPastDue(ids, TodoStatus.NOT_DONE, TodoStatus.PAST_DUE, now);
+        rowsAffected.record(updated.size());
+        /* rows changed concurrently were skipped by the guarded update and get no event: each transition is announced once */
+        updated.forEach(id -> events.publishEvent(new TodoChangedEvent(TodoChangeType.PAST_DUE, id, tenantId, null)));
+        return new BatchResult(ids.size(), updated.size());
+    }
+
+    private record BatchResult(int selected, int updated) {
+    }
+}
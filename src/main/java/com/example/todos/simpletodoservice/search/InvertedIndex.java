@@ -0,0 +1,202 @@
+package com.example.todos.simpletodoservice.search;
+
+import com.example.todos.simpletodoservice.domain.TodoStatus;
+
+import java.text.Normalizer;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Predicate;
+import java.util.regex.Pattern;
+
+/*
+ * Term -> ids index over todo descriptions, for one tenant.
+ *
+ * Descriptions are tokenized into lowercase, accent-folded runs of letters and digits. Terms are kept sorted, so a
+ * query term matches every indexed term it is a prefix of with one range lookup; terms shorter than minPrefixLength
+ * only match exactly, which keeps "a" from expanding to half the vocabulary. Every query term must match (AND).
+ *
+ * Each document also keeps its status, dueAt and version: status filters and the (dueAt, id) result order are
+ * answered from the index, and a change carrying an older version than the indexed one is ignored, so a rebuild
+ * racing live updates cannot roll a document back. Writers take the write lock and queries the read lock; both are
+ * short, in-memory sections.
+ */
+public final class InvertedIndex {
+
+    private static final Pattern NON_TERM = Pattern.compile("[^\\p{L}\\p{N}]+");
+    private static final Pattern COMBINING_MARKS = Pattern.compile("\\p{M}+");
+    private static final Comparator<Document> RESULT_ORDER = Comparator
+            .comparing(Document::dueAt, Comparator.nullsFirst(Comparator.naturalOrder()))
+            .thenComparing(Document::id);
+
+    /* Indexed state of one item */
+    public record Document(UUID id, long version, TodoStatus status, Instant dueAt, Set<String> terms) {
+    }
+
+    private final int minPrefixLength;
+    private final TreeMap<String, Set<UUID>> postings = new TreeMap<>();
+    private final Map<UUID, Document> documents = new HashMap<>();
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    public InvertedIndex(int minPrefixLength) {
+        this.minPrefixLength = minPrefixLength;
+    }
+
+    public static List<String> tokenize(String text) {
+        if (text == null) {
+            return List.of();
+        }
+        String folded = COMBINING_MARKS.matcher(Normalizer.normalize(text, Normalizer.Form.NFKD)).replaceAll("");
+        return NON_TERM.splitAsStream(folded.toLowerCase(Locale.ROOT))
+                .filter(term -> !term.isEmpty())
+                .toList();
+    }
+
+    /* Adds or replaces an item; ignored when the index already holds a newer version of it */
+    public void upsert(UUID id, long version, String description, TodoStatus status, Instant dueAt) {
+        Set<String> terms = new HashSet<>(tokenize(description));
+        lock.writeLock().lock();
+        try {
+            Document previous = documents.get(id);
+            if (previous != null && previous.version() > version) {
+                return;
+            }
+            if (previous != null) {
+                for (String term : previous.terms()) {
+                    if (!terms.contains(term)) {
+                        unpost(term, id);
+                    }
+                }
+            }
+            for (String term : terms) {
+                if (previous == null || !previous.terms().contains(term)) {
+                    postings.computeIfAbsent(term, key -> new HashSet<>()).add(id);
+                }
+            }
+            documents.put(id, new Document(id, version, status, dueAt, Set.copyOf(terms)));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /* Status change known without the rest of the item (bulk past-due transitions) */
+    public void updateStatus(UUID id, TodoStatus status) {
+        lock.writeLock().lock();
+        try {
+            documents.computeIfPresent(id, (key, document) ->
+                    new Document(id, document.version(), status, document.dueAt(), document.terms()));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(UUID id) {
+        lock.writeLock().lock();
+        try {
+            Document previous = documents.remove(id);
+            if (previous != null) {
+                previous.terms().forEach(term -> unpost(term, id));
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            postings.clear();
+            documents.clear();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /* Documents matching every term of the query and the filter, first limit of them in (dueAt, id) order */
+    public List<Document> search(String query, Predicate<Document> filter, int limit) {
+        List<String> terms = tokenize(query).stream().distinct().toList();
+        if (terms.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+        lock.readLock().lock();
+        try {
+            List<Set<UUID>> matches = new ArrayList<>(terms.size());
+            for (String term : terms) {
+                Set<UUID> ids = matching(term);
+                if (ids.isEmpty()) {
+                    return List.of();
+                }
+                matches.add(ids);
+            }
+            /* intersect starting from the rarest term */
+            matches.sort(Comparator.comparingInt(Set::size));
+            /* the first limit matches so far, latest on top, so a broad query costs O(n log limit), not a full sort */
+            PriorityQueue<Document> first = new PriorityQueue<>(limit + 1, RESULT_ORDER.reversed());
+            for (UUID id : matches.getFirst()) {
+                if (containedInAll(matches, id)) {
+                    Document document = documents.get(id);
+                    if (filter.test(document)) {
+                        first.add(document);
+                        if (first.size() > limit) {
+                            first.poll();
+                        }
+                    }
+                }
+            }
+            List<Document> found = new ArrayList<>(first);
+            found.sort(RESULT_ORDER);
+            return found;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return documents.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private Set<UUID> matching(String term) {
+        if (term.length() < minPrefixLength) {
+            return postings.getOrDefault(term, Set.of());
+        }
+        SortedMap<String, Set<UUID>> range = postings.subMap(term, term + Character.MAX_VALUE);
+        if (range.size() == 1) {
+            return range.values().iterator().next();
+        }
+        Set<UUID> union = new HashSet<>();
+        range.values().forEach(union::addAll);
+        return union;
+    }
+
+    private static boolean containedInAll(List<Set<UUID>> matches, UUID id) {
+        for (int i = 1; i < matches.size(); i++) {
+            if (!matches.get(i).contains(id)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void unpost(String term, UUID id) {
+        Set<UUID> ids = postings.get(term);
+        if (ids != null && ids.remove(id) && ids.isEmpty()) {
+            postings.remove(term);
+        }
+    }
+}
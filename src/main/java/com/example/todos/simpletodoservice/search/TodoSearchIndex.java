@@ -0,0 +1,130 @@
+package com.example.todos.simpletodoservice.search;
+
+import com.example.todos.simpletodoservice.config.SearchProperties;
+import com.example.todos.simpletodoservice.domain.TodoStatus;
+import com.example.todos.simpletodoservice.dto.TodoResponse;
+import com.example.todos.simpletodoservice.event.TodoChangeType;
+import com.example.todos.simpletodoservice.event.TodoChangedEvent;
+import com.example.todos.simpletodoservice.repository.TodoStore;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+
+/*
+ * In-process full-text index of todo descriptions, one InvertedIndex per tenant.
+ *
+ * Kept current from committed TodoChangedEvents (creates, description and status changes) and rebuilt from the store
+ * at startup, tenant by tenant through the export cursor. The index lives on the heap of this instance only; changes
+ * written by other instances or straight to the table show up after the next restart. Results point at ids, and
+ * callers read the items themselves, dropping ids the store no longer has through remove().
+ */
+@Component
+public class TodoSearchIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(TodoSearchIndex.class);
+
+    private final TodoStore store;
+    private final TransactionTemplate readOnly;
+    private final SearchProperties properties;
+    private final ConcurrentHashMap<String, InvertedIndex> tenants = new ConcurrentHashMap<>();
+
+    public TodoSearchIndex(TodoStore store,
+                           PlatformTransactionManager transactionManager,
+                           SearchProperties properties,
+                           MeterRegistry meterRegistry) {
+        this.store = store;
+        this.properties = properties;
+        this.readOnly = new TransactionTemplate(transactionManager);
+        this.readOnly.setReadOnly(true);
+        Gauge.builder("todos.search.documents", tenants,
+                        indexes -> indexes.values().stream().mapToInt(InvertedIndex::size).sum())
+                .description("Items in the full-text search index")
+                .register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        long start = System.nanoTime();
+        tenants.values().forEach(InvertedIndex::clear);
+        long indexed = 0;
+        for (String tenantId : store.findTenantIds()) {
+            InvertedIndex index = index(tenantId);
+            Long count = readOnly.execute(status -> {
+                long loaded = 0;
+                try (Stream<TodoResponse> items = store.stream(tenantId, null)) {
+                    Iterator<TodoResponse> iterator = items.iterator();
+                    while (iterator.hasNext()) {
+                        TodoResponse item = iterator.next();
+                        index.upsert(item.id(), item.version(), item.description(), item.status(), item.dueAt());
+                        loaded++;
+                    }
+                }
+                return loaded;
+            });
+            indexed += count == null ? 0 : count;
+        }
+        logger.info("Indexed {} todo items for search in {} ms", indexed,
+                Duration.ofNanos(System.nanoTime() - start).toMillis());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTodoChanged(TodoChangedEvent event) {
+        InvertedIndex index = index(event.tenantId());
+        TodoResponse item = event.item();
+        if (item != null) {
+            index.upsert(item.id(), item.version(), item.description(), item.status(), item.dueAt());
+        } else if (event.type() == TodoChangeType.PAST_DUE) {
+            index.updateStatus(event.id(), TodoStatus.PAST_DUE);
+        }
+    }
+
+    /*
+     * Ids of the tenant's items matching every term of query, in (dueAt, id) order. A null statuses set matches
+     * every status; NOT_DONE items past their dueAt count as PAST_DUE, as they do in lists.
+     */
+    public List<UUID> search(String tenantId, String query, Set<TodoStatus> statuses, Instant now, int limit) {
+        InvertedIndex index = tenants.get(tenantId);
+        if (index == null) {
+            return List.of();
+        }
+        return index.search(query,
+                        document -> statuses == null || statuses.contains(effectiveStatus(document, now)),
+                        limit)
+                .stream()
+                .map(InvertedIndex.Document::id)
+                .toList();
+    }
+
+    public void remove(String tenantId, UUID id) {
+        InvertedIndex index = tenants.get(tenantId);
+        if (index != null) {
+            index.remove(id);
+        }
+    }
+
+    private InvertedIndex index(String tenantId) {
+        return tenants.computeIfAbsent(tenantId, tenant -> new InvertedIndex(properties.minPrefixLength()));
+    }
+
+    private static TodoStatus effectiveStatus(InvertedIndex.Document document, Instant now) {
+        return document.status() == TodoStatus.NOT_DONE && document.dueAt() != null && document.dueAt().isBefore(now)
+                ? TodoStatus.PAST_DUE
+                : document.status();
+    }
+}
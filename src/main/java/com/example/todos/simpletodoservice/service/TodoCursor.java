@@ -0,0 +1,57 @@
+package com.example.todos.simpletodoservice.service;
+
+import com.example.todos.simpletodoservice.dto.TodoResponse;
+import com.example.todos.simpletodoservice.repository.TodoQuery;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.UUID;
+
+import static com.example.todos.simpletodoservice.constants.ErrorMessages.INVALID_CURSOR;
+
+/*
+ * Keyset position (sort key, id) of the last item on a page, exchanged with clients as an opaque token.
+ * The token names the sort it was issued for and is rejected without one or under another one.
+ */
+record TodoCursor(TodoQuery.Sort sort, Instant key, UUID id) {
+
+    private static final String SEPARATOR = ",";
+    private static final String SORT_SEPARATOR = ";";
+
+    static TodoCursor after(TodoQuery query, TodoResponse item){
+        TodoQuery.Position position = query.positionOf(item);
+        return new TodoCursor(query.sort(), position.key(), position.id());
+    }
+
+    TodoQuery.Position position(){
+        return new TodoQuery.Position(key, id);
+    }
+
+    String encode(){
+        String raw = sort + SORT_SEPARATOR + key + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    static TodoCursor decode(String token, TodoQuery.Sort expected){
+        TodoCursor cursor;
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int sortEnd = raw.indexOf(SORT_SEPARATOR);
+            String position = raw.substring(sortEnd + 1);
+            int split = position.indexOf(SEPARATOR);
+            if(sortEnd < 0 || split < 0){
+                throw new IllegalArgumentException(INVALID_CURSOR);
+            }
+            TodoQuery.Sort sort = TodoQuery.Sort.parse(raw.substring(0, sortEnd));
+            cursor = new TodoCursor(sort, Instant.parse(position.substring(0, split)),
+                    UUID.fromString(position.substring(split + 1)));
+        } catch (RuntimeException ex) {
+            throw new IllegalArgumentException(INVALID_CURSOR);
+        }
+        if(!cursor.sort().equals(expected)){
+            throw new IllegalArgumentException(INVALID_CURSOR);
+        }
+        return cursor;
+    }
+}
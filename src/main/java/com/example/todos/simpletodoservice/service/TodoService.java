@@ -1,32 +1,92 @@
 package com.example.todos.simpletodoservice.service;
 
+import com.example.todos.simpletodoservice.cache.TodoResponseCache;
+import com.example.todos.simpletodoservice.config.BatchProperties;
+import com.example.todos.simpletodoservice.config.PaginationProperties;
 import com.example.todos.simpletodoservice.domain.TodoItem;
 import com.example.todos.simpletodoservice.domain.TodoStatus;
+import com.example.todos.simpletodoservice.dto.BatchItemResult;
+import com.example.todos.simpletodoservice.dto.CreateTodoRequest;
+import com.example.todos.simpletodoservice.dto.CursorPage;
+import com.example.todos.simpletodoservice.dto.StatusChangeRequest;
+import com.example.todos.simpletodoservice.dto.TodoResponse;
+import com.example.todos.simpletodoservice.event.TodoChangeType;
+import com.example.todos.simpletodoservice.event.TodoChangedEvent;
 import com.example.todos.simpletodoservice.exception.NotFoundException;
 import com.example.todos.simpletodoservice.exception.PastDueModificationException;
-import com.example.todos.simpletodoservice.repository.TodoItemRepository;
+import com.example.todos.simpletodoservice.exception.PreconditionFailedException;
+import com.example.todos.simpletodoservice.mapper.TodoMapper;
+import com.example.todos.simpletodoservice.metrics.TimedOperation;
+import com.example.todos.simpletodoservice.metrics.TodoMetrics;
+import com.example.todos.simpletodoservice.repository.TodoQuery;
+import com.example.todos.simpletodoservice.repository.TodoStore;
+import com.example.todos.simpletodoservice.search.InvertedIndex;
+import com.example.todos.simpletodoservice.search.TodoSearchIndex;
+import com.example.todos.simpletodoservice.tenant.TenantContext;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
 import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import static com.example.todos.simpletodoservice.constants.ErrorMessages.*;
 
+/*
+ * Every operation acts for the tenant bound to TenantContext: items are created for it, and items of other
+ * tenants are reported as not found rather than forbidden, so ids of another tenant cannot be probed.
+ */
 @Service
 public class TodoService {
 
     private static final Logger logger = LoggerFactory.getLogger(TodoService.class);
-    private final TodoItemRepository repository;
+    private final TodoStore store;
+    private final PaginationProperties pagination;
+    private final BatchProperties batch;
+    private final Validator validator;
+    private final TodoResponseCache cache;
+    private final TodoSearchIndex searchIndex;
+    private final ApplicationEventPublisher events;
+    private final TodoMetrics metrics;
 
-    public TodoService(TodoItemRepository repository) {
-        this.repository = repository;
+    public TodoService(TodoStore store,
+                       PaginationProperties pagination,
+                       BatchProperties batch,
+                       Validator validator,
+                       TodoResponseCache cache,
+                       TodoSearchIndex searchIndex,
+                       ApplicationEventPublisher events,
+                       TodoMetrics metrics) {
+        this.store = store;
+        this.pagination = pagination;
+        this.batch = batch;
+        this.validator = validator;
+        this.cache = cache;
+        this.searchIndex = searchIndex;
+        this.events = events;
+        this.metrics = metrics;
     }
 
     @Transactional
+    @TimedOperation("create")
     public TodoItem create(String description, Instant dueAt){
         if(description == null || description.isBlank()){
             throw new IllegalArgumentException(DESCRIPTION_MUST_NOT_BE_BLANK);
@@ -36,79 +96,333 @@ public class TodoService {
             throw new IllegalArgumentException(DUE_AT_MUST_NOT_BE_NULL);
         }
 
-        logger.info("Creating todo item with dueAt={}", dueAt);
-        TodoItem item = new TodoItem(description, dueAt);
-        return repository.save(item);
+        logger.debug("Creating todo item with dueAt={}", dueAt);
+        TodoItem item = store.save(new TodoItem(TenantContext.current(), description, dueAt));
+        publish(TodoChangeType.CREATED, item);
+        return item;
+    }
+
+    /* Valid entries are inserted together in one transaction (JDBC-batched); invalid ones are reported per index */
+    @Transactional
+    @TimedOperation("createAll")
+    public List<BatchItemResult> createAll(List<CreateTodoRequest> requests){
+        ensureBatchSize(requests);
+        metrics.batchSize("createAll", requests.size());
+        logger.debug("Creating {} todo items in batch", requests.size());
+
+        BatchItemResult[] results = new BatchItemResult[requests.size()];
+        String tenantId = TenantContext.current();
+        List<Integer> acceptedIndexes = new ArrayList<>();
+        List<TodoItem> accepted = new ArrayList<>();
+        for (int i = 0; i < requests.size(); i++) {
+            String violation = validate(requests.get(i));
+            if(violation != null){
+                results[i] = failure(i, HttpStatus.BAD_REQUEST, violation);
+                continue;
+            }
+            acceptedIndexes.add(i);
+            accepted.add(new TodoItem(tenantId, requests.get(i).description(), requests.get(i).dueAt()));
+        }
+
+        List<TodoItem> saved = store.saveAll(accepted);
+        for (int i = 0; i < saved.size(); i++) {
+            TodoItem item = saved.get(i);
+            publish(TodoChangeType.CREATED, item);
+            int index = acceptedIndexes.get(i);
+            results[index] = new BatchItemResult(index, HttpStatus.CREATED.value(), TodoMapper.toResponse(item), null);
+        }
+        return Arrays.asList(results);
     }
 
     @Transactional
+    @TimedOperation("updateDescription")
     public TodoItem updateDescription(UUID id, String newDescription){
+        return updateDescription(id, newDescription, null);
+    }
 
+    /* expectedVersion comes from the client's If-Match; null makes the change unconditional */
+    @Transactional
+    @TimedOperation("updateDescription")
+    public TodoItem updateDescription(UUID id, String newDescription, Long expectedVersion){
         if(newDescription == null || newDescription.isBlank()){
             throw new IllegalArgumentException(DESCRIPTION_MUST_NOT_BE_BLANK);
         }
-        logger.info("Updating description for todo item {}", id);
-        TodoItem item = getRefreshedStatus(id);
-        ensureNotPastDue(item);
-        item.setDescription(newDescription);
-        return repository.save(item);
+        logger.debug("Updating description for todo item {}", id);
+        String tenantId = TenantContext.current();
+        TodoItem saved = store.updateDescription(tenantId, id, expectedVersion, newDescription, Instant.now())
+                .orElseThrow(() -> rejection(tenantId, id, expectedVersion));
+        publish(TodoChangeType.DESCRIPTION_UPDATED, saved);
+        return saved;
     }
 
     @Transactional
+    @TimedOperation("markDone")
     public TodoItem markDone(UUID id) {
-        logger.info("Marking todo item {} as done", id);
-        TodoItem item = getRefreshedStatus(id);
-        ensureNotPastDue(item);
-        item.setStatus(TodoStatus.DONE);
-        item.setDoneAt(Instant.now());
-        return repository.save(item);
+        return markDone(id, null);
+    }
+
+    @Transactional
+    @TimedOperation("markDone")
+    public TodoItem markDone(UUID id, Long expectedVersion) {
+        logger.debug("Marking todo item {} as done", id);
+        String tenantId = TenantContext.current();
+        Instant now = Instant.now();
+        TodoItem saved = store.updateStatus(tenantId, id, expectedVersion, TodoStatus.DONE, now, now).orElse(null);
+        if(saved == null){
+            return unchanged(tenantId, id, expectedVersion, TodoStatus.DONE, now);
+        }
+        publish(TodoChangeType.DONE, saved);
+        return saved;
     }
 
     @Transactional
+    @TimedOperation("markNotDone")
     public TodoItem markNotDone(UUID id) {
-        logger.info("Marking todo item {} as not done", id);
-        TodoItem item = getRefreshedStatus(id);
-        ensureNotPastDue(item);
-        item.setStatus(TodoStatus.NOT_DONE);
-        item.setDoneAt(null);
-        return repository.save(item);
+        return markNotDone(id, null);
     }
 
     @Transactional
-    public TodoItem getById(UUID id) {
-        logger.info("Fetching todo item {}", id);
-        TodoItem item = repository.findById(id)
+    @TimedOperation("markNotDone")
+    public TodoItem markNotDone(UUID id, Long expectedVersion) {
+        logger.debug("Marking todo item {} as not done", id);
+        String tenantId = TenantContext.current();
+        Instant now = Instant.now();
+        TodoItem saved = store.updateStatus(tenantId, id, expectedVersion, TodoStatus.NOT_DONE, null, now).orElse(null);
+        if(saved == null){
+            return unchanged(tenantId, id, expectedVersion, TodoStatus.NOT_DONE, now);
+        }
+        publish(TodoChangeType.NOT_DONE, saved);
+        return saved;
+    }
+
+    /*
+     * Loads every referenced item with one query, applies the allowed transitions in memory
+     * and saves them together (batched UPDATEs on the JPA engine); rejected entries are reported per index.
+     */
+    @Transactional
+    @TimedOperation("changeStatuses")
+    public List<BatchItemResult> changeStatuses(List<StatusChangeRequest> changes){
+        ensureBatchSize(changes);
+        metrics.batchSize("changeStatuses", changes.size());
+        logger.debug("Changing status of {} todo items in batch", changes.size());
+
+        Set<UUID> ids = changes.stream()
+                .filter(Objects::nonNull)
+                .map(StatusChangeRequest::id)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        String tenantId = TenantContext.current();
+        Map<UUID, TodoItem> items = store.findAllById(ids).stream()
+                .filter(item -> item.getTenantId().equals(tenantId))
+                .collect(Collectors.toMap(TodoItem::getId, Function.identity()));
+
+        BatchItemResult[] results = new BatchItemResult[changes.size()];
+        Map<Integer, TodoItem> changed = new LinkedHashMap<>();
+        List<TodoItem> refreshedPastDue = new ArrayList<>();
+        Set<UUID> seen = new HashSet<>();
+        for (int i = 0; i < changes.size(); i++) {
+            StatusChangeRequest change = changes.get(i);
+            String violation = validate(change);
+            if(violation == null && change.status() == TodoStatus.PAST_DUE){
+                violation = STATUS_MUST_BE_DONE_OR_NOT_DONE;
+            }
+            if(violation == null && !seen.add(change.id())){
+                violation = DUPLICATE_ID_IN_BATCH + change.id();
+            }
+            if(violation != null){
+                results[i] = failure(i, HttpStatus.BAD_REQUEST, violation);
+                continue;
+            }
+
+            TodoItem item = items.get(change.id());
+            if(item == null){
+                results[i] = failure(i, HttpStatus.NOT_FOUND, TODO_ITEM_NOT_FOUND + change.id());
+                continue;
+            }
+            TodoStatus stored = item.getStatus();
+            if(refreshStatusIfNeeded(item).getStatus() == TodoStatus.PAST_DUE){
+                /* only a transition still missing from the store is written; stored PAST_DUE rows are left alone */
+                if(stored == TodoStatus.NOT_DONE){
+                    refreshedPastDue.add(item);
+                }
+                results[i] = failure(i, HttpStatus.CONFLICT, PAST_DUE_ITEMS_CANNOT_BE_MODIFIED);
+                continue;
+            }
+            /* like the single-item endpoints, a change to the current status is reported without a write */
+            if(stored == change.status()){
+                results[i] = new BatchItemResult(i, HttpStatus.OK.value(), TodoMapper.toResponse(item), null);
+                continue;
+            }
+            applyStatus(item, change.status());
+            changed.put(i, item);
+        }
+
+        /* stores the accepted transitions and the PAST_DUE refreshes of rejected entries */
+        List<TodoItem> modified = new ArrayList<>(refreshedPastDue);
+        modified.addAll(changed.values());
+        store.saveAll(modified);
+        refreshedPastDue.forEach(item -> publish(TodoChangeType.PAST_DUE, item));
+        changed.forEach((index, item) -> {
+            publish(item.getStatus() == TodoStatus.DONE ? TodoChangeType.DONE : TodoChangeType.NOT_DONE, item);
+            results[index] = new BatchItemResult(index, HttpStatus.OK.value(), TodoMapper.toResponse(item), null);
+        });
+        return Arrays.asList(results);
+    }
+
+    /* Served from TodoResponseCache; a hit needs no transaction or connection */
+    @TimedOperation("getById")
+    public TodoResponse getById(UUID id) {
+        logger.debug("Fetching todo item {}", id);
+        String tenantId = TenantContext.current();
+        return cache.get(tenantId, id, key -> loadResponse(tenantId, key));
+    }
+
+    private TodoResponse loadResponse(String tenantId, UUID id) {
+        TodoItem item = store.findById(id)
+                .filter(found -> found.getTenantId().equals(tenantId))
                 .orElseThrow(() -> new NotFoundException(TODO_ITEM_NOT_FOUND + id));
 
-        // "Read-time" refresh: update computed status
-        return refreshStatusIfNeeded(item);
+        // "Read-time" refresh: computed status only, it is never written back from here
+        return TodoMapper.toResponse(refreshStatusIfNeeded(item));
     }
 
-    @Transactional
-    public List<TodoItem> getItems(boolean includeDone) {
-        logger.info("Listing todo items includeDone={}", includeDone);
+    @Transactional(readOnly = true)
+    @TimedOperation("getItems")
+    public CursorPage<TodoResponse> getItems(boolean includeDone, String cursor, Integer limit) {
+        return getItems(TodoQuery.of(includeDone), cursor, limit);
+    }
+
+    /*
+     * Read-only transaction: Hibernate skips flushing, and the rows are projections, not managed entities.
+     * A cursor is only valid with the sort it was issued for; filters may change between pages.
+     */
+    @Transactional(readOnly = true)
+    @TimedOperation("getItems")
+    public CursorPage<TodoResponse> getItems(TodoQuery query, String cursor, Integer limit) {
+        logger.debug("Listing todo items query={} limit={}", query, limit);
+        int pageSize = resolvePageSize(limit);
+
+        /* fetch one extra row to learn whether another page follows, without a count query */
+        TodoCursor position = cursor == null || cursor.isBlank() ? null : TodoCursor.decode(cursor, query.sort());
+        TodoQuery.Position after = position == null ? null : position.position();
+        Instant now = Instant.now();
+        /* DueDateScheduler persists the transition; until it fires, report the computed status */
+        List<TodoResponse> rows = store.findPage(TenantContext.current(), query, after, now, pageSize + 1).stream()
+                .map(item -> refreshStatusIfNeeded(item, now))
+                .toList();
 
-        /*For simplicity, we perform a bulk refresh of past-due items at read time (trade-off: reads may trigger writes)*/
-        refreshPastDue();
-        return includeDone
-                ? repository.findAll()
-                : repository.findOpenItems(List.of(TodoStatus.NOT_DONE, TodoStatus.PAST_DUE));
+        if(rows.size() <= pageSize){
+            metrics.listSize(rows.size());
+            return new CursorPage<>(rows, null);
+        }
+        metrics.listSize(pageSize);
+        List<TodoResponse> page = rows.subList(0, pageSize);
+        return new CursorPage<>(page, TodoCursor.after(query, page.get(pageSize - 1)).encode());
+    }
+
+    /*
+     * Hands every matching item to sink in list order, read through one cursor in a read-only transaction,
+     * so an export of any size holds only the row in flight. Returns the number of items exported.
+     */
+    @Transactional(readOnly = true)
+    @TimedOperation("export")
+    public long export(boolean includeDone, Consumer<TodoResponse> sink) {
+        logger.debug("Exporting todo items includeDone={}", includeDone);
+        Instant now = Instant.now();
+        long exported = 0;
+        try (Stream<TodoResponse> rows = store.stream(TenantContext.current(), includeDone ? null : TodoQuery.OPEN_STATUSES)) {
+            Iterator<TodoResponse> iterator = rows.iterator();
+            while (iterator.hasNext()) {
+                sink.accept(refreshStatusIfNeeded(iterator.next(), now));
+                exported++;
+            }
+        }
+        return exported;
+    }
+
+    /*
+     * Items whose description matches every term of query (terms match as prefixes), filtered by statuses
+     * (all when null or empty) and ordered like lists, at most one page of them. The index answers the match,
+     * the items themselves are read by id; ids the store no longer has are dropped from the index.
+     */
+    @Transactional(readOnly = true)
+    @TimedOperation("search")
+    public List<TodoResponse> search(String query, Set<TodoStatus> statuses, Integer limit){
+        if(InvertedIndex.tokenize(query).isEmpty()){
+            throw new IllegalArgumentException(SEARCH_QUERY_MUST_HAVE_TERMS);
+        }
+        logger.debug("Searching todo items statuses={} limit={}", statuses, limit);
+        String tenantId = TenantContext.current();
+        Instant now = Instant.now();
+        List<UUID> ids = searchIndex.search(tenantId, query,
+                statuses == null || statuses.isEmpty() ? null : statuses, now, resolvePageSize(limit));
+        Map<UUID, TodoItem> items = store.findAllById(ids).stream()
+                .filter(item -> item.getTenantId().equals(tenantId))
+                .collect(Collectors.toMap(TodoItem::getId, Function.identity()));
+
+        List<TodoResponse> results = new ArrayList<>(items.size());
+        for (UUID id : ids) {
+            TodoItem item = items.get(id);
+            if(item == null){
+                searchIndex.remove(tenantId, id);
+                continue;
+            }
+            results.add(TodoMapper.toResponse(refreshStatusIfNeeded(item)));
+        }
+        return results;
+    }
+
+    private int resolvePageSize(Integer limit){
+        if(limit == null){
+            return pagination.defaultPageSize();
+        }
+        if(limit < 1){
+            throw new IllegalArgumentException(LIMIT_MUST_BE_POSITIVE);
+        }
+        return Math.min(limit, pagination.maxPageSize());
+    }
+
+    /*
+     * A guarded status write that changed nothing either hit an item already in the requested status - answered
+     * as it is, with no new version and no change event - or was rejected.
+     */
+    private TodoItem unchanged(String tenantId, UUID id, Long expectedVersion, TodoStatus status, Instant now){
+        TodoItem item = store.findById(id)
+                .filter(found -> found.getTenantId().equals(tenantId))
+                .orElse(null);
+        boolean overdue = item != null && item.getStatus() == TodoStatus.NOT_DONE && item.getDueAt().isBefore(now);
+        if(item != null && item.getStatus() == status && !overdue
+                && (expectedVersion == null || item.getVersion() == expectedVersion)){
+            return item;
+        }
+        throw rejection(item, id, expectedVersion);
     }
 
-    private void refreshPastDue() {
-        logger.info("updating todo items as PAST_DUE which are past the past due date");
-        repository.markPastDue(
-                TodoStatus.PAST_DUE,
-                TodoStatus.DONE,
-                Instant.now()
-        );
+    /*
+     * Why a guarded write changed nothing; only read on this failure path. Preconditions are reported first,
+     * and an existing item that matches them was rejected for being past due.
+     */
+    private RuntimeException rejection(String tenantId, UUID id, Long expectedVersion){
+        TodoItem item = store.findById(id)
+                .filter(found -> found.getTenantId().equals(tenantId))
+                .orElse(null);
+        return rejection(item, id, expectedVersion);
     }
 
-    private TodoItem getRefreshedStatus(UUID id){
-        TodoItem item = repository.findById(id)
-                .orElseThrow(()-> new NotFoundException(TODO_ITEM_NOT_FOUND + id));
+    private RuntimeException rejection(TodoItem item, UUID id, Long expectedVersion){
+        if(item == null){
+            return new NotFoundException(TODO_ITEM_NOT_FOUND + id);
+        }
+        if(expectedVersion != null && item.getVersion() != expectedVersion){
+            return new PreconditionFailedException(IF_MATCH_NOT_SATISFIED);
+        }
+        return new PastDueModificationException(PAST_DUE_ITEMS_CANNOT_BE_MODIFIED);
+    }
 
-        return refreshStatusIfNeeded(item);
+    private TodoResponse refreshStatusIfNeeded(TodoResponse item, Instant now){
+        return item.status() == TodoStatus.NOT_DONE && item.dueAt().isBefore(now)
+                ? item.withStatus(TodoStatus.PAST_DUE)
+                : item;
     }
 
     private TodoItem refreshStatusIfNeeded(TodoItem item){
@@ -120,8 +434,37 @@ public class TodoService {
     }
 
 
-    private void ensureNotPastDue(TodoItem item){
-        if(item.getStatus() == TodoStatus.PAST_DUE)
-            throw new PastDueModificationException(PAST_DUE_ITEMS_CANNOT_BE_MODIFIED);
+    private void publish(TodoChangeType type, TodoItem item){
+        events.publishEvent(new TodoChangedEvent(type, item.getId(), item.getTenantId(), TodoMapper.toResponse(item)));
+    }
+
+    private void applyStatus(TodoItem item, TodoStatus status){
+        item.setStatus(status);
+        item.setDoneAt(status == TodoStatus.DONE ? Instant.now() : null);
+    }
+
+    private void ensureBatchSize(List<?> entries){
+        if(entries.size() > batch.maxItems()){
+            throw new IllegalArgumentException(BATCH_SIZE_EXCEEDED.formatted(batch.maxItems()));
+        }
+    }
+
+    /* Returns the joined constraint violations of one batch entry, or null when it is valid */
+    private String validate(Object entry){
+        if(entry == null){
+            return BATCH_ITEM_MUST_NOT_BE_NULL;
+        }
+        Set<ConstraintViolation<Object>> violations = validator.validate(entry);
+        if(violations.isEmpty()){
+            return null;
+        }
+        return violations.stream()
+                .map(v -> v.getPropertyPath() + ": " + v.getMessage())
+                .sorted()
+                .collect(Collectors.joining(", "));
+    }
+
+    private BatchItemResult failure(int index, HttpStatus status, String message){
+        return new BatchItemResult(index, status.value(), null, message);
     }
 }
@@ -0,0 +1,307 @@
+package com.example.todos.simpletodoservice.stats;
+
+import com.example.todos.simpletodoservice.config.StatsProperties;
+import com.example.todos.simpletodoservice.domain.TodoStatus;
+import com.example.todos.simpletodoservice.dto.TodoResponse;
+import com.example.todos.simpletodoservice.dto.TodoStatsResponse;
+import com.example.todos.simpletodoservice.event.TodoChangedEvent;
+import com.example.todos.simpletodoservice.repository.TodoStore;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/*
+ * Per-tenant counters behind GET /api/v1/todos/stats, read in constant time instead of counting rows.
+ *
+ * Counts per stored status move with every committed TodoChangedEvent. Each status event is one real transition
+ * (same-status writes are skipped and the past-due paths announce only the rows they changed), so the event type
+ * alone says which counters move. "Due soon" is the number of NOT_DONE items per due minute; a read sums the minutes
+ * of the window, a bounded number whatever the item count. Buckets behind the current minute are never written and
+ * are dropped on reconciliation.
+ *
+ * Counters are loaded from the store at startup and reconciled every todos.stats.reconcile-interval, which recovers
+ * writes this instance never saw (other instances, direct SQL). The store answers with aggregates - counts per
+ * status and NOT_DONE items per due minute of the due-soon window - so a pass costs no row transfer; minutes
+ * further out are reconciled once the window reaches them. A change is tracked from the moment it is published
+ * inside its transaction until its counters have moved after commit; a tenant is corrected only when none of its
+ * changes was in flight or applied while the store was read, so no change is counted both by the correction and by
+ * its own event. A tenant that is never quiet through a read keeps its drift until a later pass, so counters of
+ * unseen writes are eventually consistent rather than exact at every read.
+ */
+@Component
+public class TodoStats {
+
+    private static final Logger logger = LoggerFactory.getLogger(TodoStats.class);
+
+    private final TodoStore store;
+    private final TransactionTemplate readOnly;
+    private final StatsProperties properties;
+    private final Counter corrections;
+    private final ConcurrentHashMap<String, Tally> tenants = new ConcurrentHashMap<>();
+
+    public TodoStats(TodoStore store,
+                     PlatformTransactionManager transactionManager,
+                     StatsProperties properties,
+                     MeterRegistry meterRegistry) {
+        this.store = store;
+        this.properties = properties;
+        this.readOnly = new TransactionTemplate(transactionManager);
+        this.readOnly.setReadOnly(true);
+        this.corrections = Counter.builder("todos.stats.corrections")
+                .description("Tenants whose stats counters were corrected from the store")
+                .register(meterRegistry);
+    }
+
+    /*
+     * Runs at publish time to mark the change in flight; the counters move once its transaction has committed, and
+     * right away for a write made outside a transaction.
+     */
+    @EventListener
+    public void onTodoChanged(TodoChangedEvent event) {
+        Tally tally = tally(event.tenantId());
+        tally.inFlight.incrementAndGet();
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            complete(tally, event, true);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                complete(tally, event, status == STATUS_COMMITTED);
+            }
+        });
+    }
+
+    private void complete(Tally tally, TodoChangedEvent event, boolean committed) {
+        try {
+            if (committed) {
+                apply(tally, event);
+            }
+        } finally {
+            /* bumped before the in-flight count drops, so reconcile() sees one or the other */
+            tally.generation.incrementAndGet();
+            tally.inFlight.decrementAndGet();
+        }
+    }
+
+    private void apply(Tally tally, TodoChangedEvent event) {
+        TodoResponse item = event.item();
+        long nowMinute = minute(Instant.now());
+        switch (event.type()) {
+            case CREATED -> {
+                tally.count(item.status(), 1);
+                if (item.status() == TodoStatus.NOT_DONE) {
+                    tally.due(minute(item.dueAt()), 1, nowMinute);
+                }
+            }
+            case DONE -> {
+                tally.count(TodoStatus.NOT_DONE, -1);
+                tally.count(TodoStatus.DONE, 1);
+                tally.due(minute(item.dueAt()), -1, nowMinute);
+            }
+            case NOT_DONE -> {
+                tally.count(TodoStatus.DONE, -1);
+                tally.count(TodoStatus.NOT_DONE, 1);
+                tally.due(minute(item.dueAt()), 1, nowMinute);
+            }
+            case PAST_DUE -> {
+                /* the sweeper announces ids only; the item was overdue, so its bucket is already behind */
+                tally.count(TodoStatus.NOT_DONE, -1);
+                tally.count(TodoStatus.PAST_DUE, 1);
+                if (item != null) {
+                    tally.due(minute(item.dueAt()), -1, nowMinute);
+                }
+            }
+            case DESCRIPTION_UPDATED -> {
+            }
+        }
+    }
+
+    /*
+     * Counts as stored: NOT_DONE items the clock has passed stay NOT_DONE until the timer or the sweeper persists
+     * PAST_DUE. dueSoon counts NOT_DONE items due from the current minute up to now + todos.stats.due-soon-window.
+     */
+    public TodoStatsResponse snapshot(String tenantId, Instant now) {
+        Tally tally = tenants.get(tenantId);
+        Map<TodoStatus, Long> byStatus = new EnumMap<>(TodoStatus.class);
+        long total = 0;
+        for (TodoStatus status : TodoStatus.values()) {
+            /* a decrement can briefly run ahead of the reconciliation that accounts for an unseen insert */
+            long count = tally == null ? 0 : Math.max(0, tally.byStatus.get(status).sum());
+            byStatus.put(status, count);
+            total += count;
+        }
+        Instant dueSoonUntil = now.plus(properties.dueSoonWindow());
+        long dueSoon = tally == null ? 0 : Math.max(0, tally.dueBetween(minute(now), minute(dueSoonUntil)));
+        return new TodoStatsResponse(total, byStatus, dueSoon, dueSoonUntil);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        long start = System.nanoTime();
+        int tenantCount = reconcile();
+        logger.info("Loaded todo stats for {} tenants in {} ms", tenantCount,
+                Duration.ofNanos(System.nanoTime() - start).toMillis());
+    }
+
+    @Scheduled(initialDelayString = "${todos.stats.reconcile-interval:PT5M}",
+            fixedDelayString = "${todos.stats.reconcile-interval:PT5M}")
+    public void scheduledReconcile() {
+        int corrected = reconcile();
+        if (corrected > 0) {
+            logger.warn("Corrected todo stats of {} tenants from the store", corrected);
+        }
+    }
+
+    /*
+     * Compares every tenant's counters with the store and adds the difference to the tenants that had no change in
+     * flight or applied while the store was read. Returns the number of tenants corrected; on empty counters, as at
+     * startup, that is every tenant with items.
+     */
+    public synchronized int reconcile() {
+        Instant now = Instant.now();
+        long nowMinute = minute(now);
+        /* one minute past the window, which moves on while this pass runs */
+        long toMinute = minute(now.plus(properties.dueSoonWindow())) + 1;
+        Set<String> tenantIds = new TreeSet<>(store.findTenantIds());
+        tenantIds.addAll(tenants.keySet());
+        int corrected = 0;
+        for (String tenantId : tenantIds) {
+            Tally tally = tally(tenantId);
+            tally.prune(nowMinute);
+            boolean quiet = tally.inFlight.get() == 0;
+            long generation = tally.generation.get();
+            Counts stored = load(tenantId, nowMinute, toMinute);
+            Counts correction = stored.minus(tally.counts(nowMinute, toMinute));
+            /* a change seen by the read but not yet by the counters would be counted twice; try again next pass */
+            if (!quiet || tally.generation.get() != generation || tally.inFlight.get() != 0) {
+                if (!correction.isEmpty()) {
+                    logger.debug("Deferred todo stats correction of busy tenant {}", tenantId);
+                }
+                continue;
+            }
+            if (!correction.isEmpty()) {
+                tally.add(correction, nowMinute);
+                corrected++;
+                logger.debug("Corrected todo stats of tenant {} by {}", tenantId, correction);
+            }
+        }
+        corrections.increment(corrected);
+        return corrected;
+    }
+
+    private Counts load(String tenantId, long fromMinute, long toMinute) {
+        return readOnly.execute(status -> new Counts(store.countByStatus(tenantId),
+                store.countByDueMinute(tenantId, TodoStatus.NOT_DONE, start(fromMinute), start(toMinute))));
+    }
+
+    private Tally tally(String tenantId) {
+        return tenants.computeIfAbsent(tenantId, tenant -> new Tally());
+    }
+
+    private static long minute(Instant instant) {
+        return Math.floorDiv(instant.getEpochSecond(), 60);
+    }
+
+    private static Instant start(long minute) {
+        return Instant.ofEpochSecond(minute * 60);
+    }
+
+    private static final class Tally {
+
+        private final Map<TodoStatus, LongAdder> byStatus = new EnumMap<>(TodoStatus.class);
+        /* NOT_DONE items per due epoch minute; merge keeps each bucket's update atomic and drops emptied buckets */
+        private final ConcurrentSkipListMap<Long, Long> dueByMinute = new ConcurrentSkipListMap<>();
+        /* changes published but not yet applied or rolled back, and the number ever completed */
+        private final AtomicInteger inFlight = new AtomicInteger();
+        private final AtomicLong generation = new AtomicLong();
+
+        Tally() {
+            for (TodoStatus status : TodoStatus.values()) {
+                byStatus.put(status, new LongAdder());
+            }
+        }
+
+        void count(TodoStatus status, long delta) {
+            byStatus.get(status).add(delta);
+        }
+
+        /* past minutes are out of every window and would only come back after prune() */
+        void due(long minute, long delta, long nowMinute) {
+            if (minute >= nowMinute) {
+                dueByMinute.merge(minute, delta, (current, added) -> current + added == 0 ? null : current + added);
+            }
+        }
+
+        long dueBetween(long fromMinute, long toMinute) {
+            long sum = 0;
+            for (long count : dueByMinute.subMap(fromMinute, true, toMinute, false).values()) {
+                sum += count;
+            }
+            return sum;
+        }
+
+        void prune(long nowMinute) {
+            dueByMinute.headMap(nowMinute).clear();
+        }
+
+        Counts counts(long fromMinute, long toMinute) {
+            Map<TodoStatus, Long> statuses = new EnumMap<>(TodoStatus.class);
+            byStatus.forEach((status, adder) -> statuses.put(status, adder.sum()));
+            return new Counts(statuses, new HashMap<>(dueByMinute.subMap(fromMinute, toMinute)));
+        }
+
+        void add(Counts counts, long nowMinute) {
+            counts.byStatus().forEach(this::count);
+            counts.dueByMinute().forEach((minute, delta) -> due(minute, delta, nowMinute));
+        }
+    }
+
+    /* Counts per stored status and NOT_DONE items per due minute; also used for the difference between two of them */
+    private record Counts(Map<TodoStatus, Long> byStatus, Map<Long, Long> dueByMinute) {
+
+        Counts minus(Counts other) {
+            return new Counts(difference(byStatus, other.byStatus), difference(dueByMinute, other.dueByMinute));
+        }
+
+        boolean isEmpty() {
+            return byStatus.isEmpty() && dueByMinute.isEmpty();
+        }
+
+        private static <K> Map<K, Long> difference(Map<K, Long> left, Map<K, Long> right) {
+            Set<K> keys = new HashSet<>(left.keySet());
+            keys.addAll(right.keySet());
+            Map<K, Long> result = new HashMap<>();
+            for (K key : keys) {
+                long delta = left.getOrDefault(key, 0L) - right.getOrDefault(key, 0L);
+                if (delta != 0) {
+                    result.put(key, delta);
+                }
+            }
+            return result;
+        }
+    }
+}
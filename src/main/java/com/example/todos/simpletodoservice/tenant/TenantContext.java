@@ -0,0 +1,31 @@
+package com.example.todos.simpletodoservice.tenant;
+
+import java.util.regex.Pattern;
+
+/*
+ * Tenant of the work running on the current thread. TenantInterceptor sets it for API requests from the
+ * X-Tenant-Id header; code without a tenant (tests, benchmarks, requests without the header) works as DEFAULT_TENANT.
+ * Work handed to another thread must carry the tenant over explicitly.
+ */
+public final class TenantContext {
+
+    public static final String DEFAULT_TENANT = "default";
+    public static final Pattern VALID_TENANT_ID = Pattern.compile("[A-Za-z0-9._-]{1,64}");
+
+    private static final ThreadLocal<String> CURRENT = new ThreadLocal<>();
+
+    private TenantContext(){}
+
+    public static String current(){
+        String tenantId = CURRENT.get();
+        return tenantId == null ? DEFAULT_TENANT : tenantId;
+    }
+
+    public static void set(String tenantId){
+        CURRENT.set(tenantId);
+    }
+
+    public static void clear(){
+        CURRENT.remove();
+    }
+}
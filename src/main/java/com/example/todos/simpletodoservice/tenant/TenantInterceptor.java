@@ -0,0 +1,39 @@
+package com.example.todos.simpletodoservice.tenant;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+
+import static com.example.todos.simpletodoservice.constants.ErrorMessages.INVALID_TENANT_ID;
+
+/*
+ * Binds the X-Tenant-Id header to TenantContext for the duration of a request, and rejects malformed ids with 400.
+ * Responses vary by the header so shared caches never hand one tenant's list to another.
+ * For async requests the binding is dropped when the request thread is released and set again on the async dispatch.
+ */
+public class TenantInterceptor implements AsyncHandlerInterceptor {
+
+    public static final String TENANT_HEADER = "X-Tenant-Id";
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        String tenantId = request.getHeader(TENANT_HEADER);
+        if(tenantId != null && !TenantContext.VALID_TENANT_ID.matcher(tenantId).matches()){
+            throw new IllegalArgumentException(INVALID_TENANT_ID);
+        }
+        TenantContext.set(tenantId == null ? TenantContext.DEFAULT_TENANT : tenantId);
+        response.addHeader(HttpHeaders.VARY, TENANT_HEADER);
+        return true;
+    }
+
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        TenantContext.clear();
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        TenantContext.clear();
+    }
+}
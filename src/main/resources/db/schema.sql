@@ -0,0 +1,18 @@
+-- Prebuilt schema for the prod profile (spring.jpa.hibernate.ddl-auto=none).
+-- Keep in sync with the TodoItem mapping.
+create table if not exists todo_items (
+    id          uuid                     not null primary key,
+    tenant_id   varchar(64)              default 'default' not null,
+    description varchar(500)             not null,
+    status      varchar(20)              not null check (status in ('NOT_DONE', 'DONE', 'PAST_DUE')),
+    due_at      timestamp(6) with time zone,
+    done_at     timestamp(6) with time zone,
+    created_at  timestamp(6) with time zone not null,
+    updated_at  timestamp(6) with time zone,
+    version     bigint                   default 0 not null
+);
+
+create index if not exists idx_todo_items_tenant_status_due_at on todo_items (tenant_id, status, due_at, id);
+create index if not exists idx_todo_items_tenant_due_at on todo_items (tenant_id, due_at, id);
+create index if not exists idx_todo_items_tenant_created_at on todo_items (tenant_id, created_at, id);
+create index if not exists idx_todo_items_status_due_at on todo_items (status, due_at, id);
@@ -0,0 +1,32 @@
+package com.example.todos.simpletodoservice;
+
+import com.example.todos.simpletodoservice.domain.TodoItem;
+import com.example.todos.simpletodoservice.domain.TodoStatus;
+import com.example.todos.simpletodoservice.service.TodoService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.Instant;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/* Boots the prod profile on its own database, so the entity mapping runs against db/schema.sql only */
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:prod-schema;DB_CLOSE_DELAY=-1")
+@ActiveProfiles("prod")
+class ProdProfileIntegrationTest {
+
+    @Autowired
+    private TodoService todoService;
+
+    @Test
+    void prebuiltSchema_shouldSupportServiceOperations() {
+        TodoItem created = todoService.create("Ship release", Instant.now().plusSeconds(3600));
+
+        todoService.markDone(created.getId());
+
+        assertEquals(TodoStatus.DONE, todoService.getById(created.getId()).status());
+        assertEquals(1, todoService.getItems(true, null, null).items().size());
+    }
+}
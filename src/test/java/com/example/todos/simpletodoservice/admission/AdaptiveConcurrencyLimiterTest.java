@@ -0,0 +1,75 @@
+package com.example.todos.simpletodoservice.admission;
+
+import com.example.todos.simpletodoservice.config.AdmissionProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class AdaptiveConcurrencyLimiterTest {
+
+    public static final long BASELINE_RTT = Duration.ofMillis(1).toNanos();
+    public static final long SATURATED_RTT = Duration.ofMillis(20).toNanos();
+
+    private final AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(properties(8, 2, 64),
+            new SimpleMeterRegistry());
+
+    @Test
+    void tryAcquire_shouldRejectBeyondTheLimit(){
+        // arrange
+        for (int i = 0; i < 8; i++) {
+            assertTrue(limiter.tryAcquire());
+        }
+
+        // act
+        boolean overLimit = limiter.tryAcquire();
+        limiter.release();
+
+        // assert
+        assertFalse(overLimit);
+        assertTrue(limiter.tryAcquire());
+    }
+
+    @Test
+    void release_shouldGrowTheLimitWhileLatencyHoldsUnderLoad(){
+        // act: every permit in use, latency flat
+        for (int round = 0; round < 20; round++) {
+            int admitted = 0;
+            while (limiter.tryAcquire()) {
+                admitted++;
+            }
+            for (int i = 0; i < admitted; i++) {
+                limiter.release(BASELINE_RTT);
+            }
+        }
+
+        // assert
+        assertTrue(limiter.limit() > 8, "limit " + limiter.limit());
+    }
+
+    @Test
+    void release_shouldShrinkTheLimitWhenLatencyRises(){
+        // arrange: establish the baseline latency
+        for (int i = 0; i < 50; i++) {
+            limiter.tryAcquire();
+            limiter.release(BASELINE_RTT);
+        }
+
+        // act
+        for (int i = 0; i < 50; i++) {
+            limiter.tryAcquire();
+            limiter.release(SATURATED_RTT);
+        }
+
+        // assert
+        assertEquals(2, limiter.limit());
+    }
+
+    private static AdmissionProperties properties(int initialLimit, int minLimit, int maxLimit){
+        return new AdmissionProperties(true, 100, Duration.ofMinutes(1),
+                10, 10, 10, 10,
+                initialLimit, minLimit, maxLimit, 2.0, 0.2, Duration.ofSeconds(1));
+    }
+}
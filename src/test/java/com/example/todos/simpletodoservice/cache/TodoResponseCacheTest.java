@@ -0,0 +1,44 @@
+package com.example.todos.simpletodoservice.cache;
+
+import com.example.todos.simpletodoservice.config.TodoCacheProperties;
+import com.example.todos.simpletodoservice.domain.TodoStatus;
+import com.example.todos.simpletodoservice.dto.TodoResponse;
+import com.example.todos.simpletodoservice.event.TodoChangeType;
+import com.example.todos.simpletodoservice.event.TodoChangedEvent;
+import com.example.todos.simpletodoservice.tenant.TenantContext;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TodoResponseCacheTest {
+
+    public static final String TENANT = TenantContext.DEFAULT_TENANT;
+
+    private final TodoResponseCache cache = new TodoResponseCache(
+            new TodoCacheProperties(100, Duration.ofMinutes(5)), new SimpleMeterRegistry());
+
+    @Test
+    void onTodoChanged_shouldNotReplaceANewerVersion(){
+        // arrange
+        UUID id = UUID.randomUUID();
+        TodoResponse older = response(id, TodoStatus.NOT_DONE, 3);
+        TodoResponse newer = response(id, TodoStatus.DONE, 4);
+
+        // act: the listener of the older write runs last
+        cache.onTodoChanged(new TodoChangedEvent(TodoChangeType.DONE, id, TENANT, newer));
+        cache.onTodoChanged(new TodoChangedEvent(TodoChangeType.NOT_DONE, id, TENANT, older));
+
+        // assert
+        assertEquals(newer, cache.get(TENANT, id, key -> fail("served from the cache")));
+    }
+
+    private static TodoResponse response(UUID id, TodoStatus status, long version){
+        Instant now = Instant.now();
+        return new TodoResponse(id, "Water plants", status, now, now, now.plusSeconds(3600), null, version);
+    }
+}
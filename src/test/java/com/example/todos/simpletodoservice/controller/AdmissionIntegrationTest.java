@@ -0,0 +1,128 @@
+package com.example.todos.simpletodoservice.controller;
+
+import com.example.todos.simpletodoservice.admission.AdaptiveConcurrencyLimiter;
+import com.example.todos.simpletodoservice.repository.TodoStore;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.RequestPostProcessor;
+
+import java.time.Instant;
+
+import static com.example.todos.simpletodoservice.constants.ErrorMessages.CONCURRENCY_LIMIT_EXCEEDED;
+import static com.example.todos.simpletodoservice.constants.ErrorMessages.RATE_LIMIT_EXCEEDED;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/* Small read budget refilling once a minute, so the third read of a client (a remote address) is always over it */
+@SpringBootTest(properties = {
+        "todos.admission.read-capacity=2",
+        "todos.admission.read-refill-per-second=0.0167"
+})
+@AutoConfigureMockMvc
+public class AdmissionIntegrationTest {
+
+    public static final String ROOT_URL = "/api/v1/todos";
+    public static final String EXPORT_URL = "/api/v1/todos:export";
+    public static final String CLIENT_HEADER = "X-Client-Id";
+    public static final String SPENDER = "10.0.0.1";
+    public static final String BYSTANDER = "10.0.0.2";
+    public static final String EXPORTER = "10.0.0.3";
+    public static final String WAITER = "10.0.0.4";
+    public static final String RENAMER = "10.0.0.5";
+    public static final String $_MESSAGE = "$.message";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private TodoStore store;
+
+    @Autowired
+    private AdaptiveConcurrencyLimiter concurrencyLimiter;
+
+    @BeforeEach
+    void cleanDB(){
+        store.deleteAll();
+    }
+
+    @Test
+    void reads_shouldReturn429WithRetryAfterOnceTheClientBudgetIsSpent() throws Exception {
+        mockMvc.perform(get(ROOT_URL).with(from(SPENDER))).andExpect(status().isOk());
+        mockMvc.perform(get(ROOT_URL).with(from(SPENDER))).andExpect(status().isOk());
+
+        mockMvc.perform(get(ROOT_URL).with(from(SPENDER)))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().exists(HttpHeaders.RETRY_AFTER))
+                .andExpect(jsonPath($_MESSAGE).value(RATE_LIMIT_EXCEEDED));
+
+        /* other clients and the writes of the same client have budgets of their own */
+        mockMvc.perform(get(ROOT_URL).with(from(BYSTANDER))).andExpect(status().isOk());
+        mockMvc.perform(post(ROOT_URL)
+                        .with(from(SPENDER))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"description\":\"Buy milk\",\"dueAt\":\"" + Instant.now().plusSeconds(120) + "\"}"))
+                .andExpect(status().isCreated());
+    }
+
+    @Test
+    void reads_shouldNotGetAFreshBudgetFromANewClientIdHeader() throws Exception {
+        mockMvc.perform(get(ROOT_URL).with(from(RENAMER)).header(CLIENT_HEADER, "first")).andExpect(status().isOk());
+        mockMvc.perform(get(ROOT_URL).with(from(RENAMER)).header(CLIENT_HEADER, "second")).andExpect(status().isOk());
+
+        mockMvc.perform(get(ROOT_URL).with(from(RENAMER)).header(CLIENT_HEADER, "third"))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(jsonPath($_MESSAGE).value(RATE_LIMIT_EXCEEDED));
+    }
+
+    @Test
+    void concurrencyRejections_shouldNotSpendTheClientBudget() throws Exception {
+        int taken = 0;
+        try {
+            while (concurrencyLimiter.tryAcquire()) {
+                taken++;
+            }
+            mockMvc.perform(get(ROOT_URL).with(from(WAITER)))
+                    .andExpect(status().isTooManyRequests())
+                    .andExpect(jsonPath($_MESSAGE).value(CONCURRENCY_LIMIT_EXCEEDED));
+        } finally {
+            for (int i = 0; i < taken; i++) {
+                concurrencyLimiter.release();
+            }
+        }
+
+        /* the whole budget of two reads is still there */
+        mockMvc.perform(get(ROOT_URL).with(from(WAITER))).andExpect(status().isOk());
+        mockMvc.perform(get(ROOT_URL).with(from(WAITER))).andExpect(status().isOk());
+    }
+
+    @Test
+    void exports_shouldHoldTheirPermitUntilTheBodyIsWritten() throws Exception {
+        int before = concurrencyLimiter.inFlight();
+
+        MvcResult started = mockMvc.perform(get(EXPORT_URL).with(from(EXPORTER))
+                        .accept(MediaType.APPLICATION_NDJSON))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        assertEquals(before + 1, concurrencyLimiter.inFlight());
+
+        mockMvc.perform(asyncDispatch(started)).andExpect(status().isOk());
+        assertEquals(before, concurrencyLimiter.inFlight());
+    }
+
+    private static RequestPostProcessor from(String remoteAddress){
+        return request -> {
+            request.setRemoteAddr(remoteAddress);
+            return request;
+        };
+    }
+}
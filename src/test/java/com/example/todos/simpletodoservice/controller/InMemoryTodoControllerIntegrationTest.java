@@ -0,0 +1,8 @@
+package com.example.todos.simpletodoservice.controller;
+
+import org.springframework.test.context.ActiveProfiles;
+
+/* Runs every TodoControllerIntegrationTest case against the in-memory storage engine */
+@ActiveProfiles("in-memory")
+public class InMemoryTodoControllerIntegrationTest extends TodoControllerIntegrationTest {
+}
@@ -0,0 +1,136 @@
+package com.example.todos.simpletodoservice.controller;
+
+import com.example.todos.simpletodoservice.domain.TodoItem;
+import com.example.todos.simpletodoservice.domain.TodoStatus;
+import com.example.todos.simpletodoservice.repository.TodoStore;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import tools.jackson.databind.ObjectMapper;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static com.example.todos.simpletodoservice.constants.ErrorMessages.*;
+import static org.hamcrest.Matchers.hasSize;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = "todos.batch.max-items=5")
+@AutoConfigureMockMvc
+public class TodoBatchControllerIntegrationTest {
+
+    public static final String BATCH_URL = "/api/v1/todos:batch";
+    public static final String BATCH_STATUS_URL = "/api/v1/todos:batchUpdateStatus";
+    public static final String DESCRIPTION_BUY_MILK = "Buy milk";
+    public static final String DESCRIPTION_BUY_GROCERY = "Buy Grocery";
+    public static final String DONE = "DONE";
+    public static final String PAST_DUE = "PAST_DUE";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private TodoStore store;
+
+    @Autowired
+    ObjectMapper objectMapper;
+
+    @BeforeEach
+    void cleanDB(){
+        store.deleteAll();
+    }
+
+    @Test
+    void createAll_shouldPersistValidItemsAndReportInvalidOnes() throws Exception {
+        String body = objectMapper.writeValueAsString(Map.of("items", List.of(
+                createItem(DESCRIPTION_BUY_MILK, Instant.now().plusSeconds(120)),
+                createItem("", Instant.now().plusSeconds(120)),
+                createItem(DESCRIPTION_BUY_GROCERY, Instant.now().plusSeconds(180)))));
+
+        mockMvc.perform(post(BATCH_URL).contentType(MediaType.APPLICATION_JSON).content(body))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(3)))
+                .andExpect(jsonPath("$[0].status").value(201))
+                .andExpect(jsonPath("$[0].item.id").exists())
+                .andExpect(jsonPath("$[1].status").value(400))
+                .andExpect(jsonPath("$[1].item").doesNotExist())
+                .andExpect(jsonPath("$[2].index").value(2))
+                .andExpect(jsonPath("$[2].status").value(201));
+
+        assertEquals(2, store.count());
+    }
+
+    @Test
+    void createAll_shouldRejectOversizedBatch() throws Exception {
+        List<Map<String, Object>> items = new ArrayList<>();
+        for (int i = 0; i < 6; i++) {
+            items.add(createItem(DESCRIPTION_BUY_MILK, Instant.now().plusSeconds(120)));
+        }
+        String body = objectMapper.writeValueAsString(Map.of("items", items));
+
+        mockMvc.perform(post(BATCH_URL).contentType(MediaType.APPLICATION_JSON).content(body))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value(BATCH_SIZE_EXCEEDED.formatted(5)));
+
+        assertEquals(0, store.count());
+    }
+
+    @Test
+    void createAll_shouldRejectEmptyBatch() throws Exception {
+        String body = objectMapper.writeValueAsString(Map.of("items", List.of()));
+
+        mockMvc.perform(post(BATCH_URL).contentType(MediaType.APPLICATION_JSON).content(body))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void changeStatuses_shouldReportPerItemOutcome() throws Exception {
+        TodoItem open = store.save(new TodoItem(DESCRIPTION_BUY_MILK, Instant.now().plusSeconds(120)));
+        TodoItem overdue = store.save(new TodoItem(DESCRIPTION_BUY_GROCERY, Instant.now().minusSeconds(60)));
+        UUID missing = UUID.randomUUID();
+
+        String body = objectMapper.writeValueAsString(Map.of("items", List.of(
+                statusChange(open.getId(), DONE),
+                statusChange(overdue.getId(), DONE),
+                statusChange(missing, DONE),
+                statusChange(open.getId(), PAST_DUE))));
+
+        mockMvc.perform(post(BATCH_STATUS_URL).contentType(MediaType.APPLICATION_JSON).content(body))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(4)))
+                .andExpect(jsonPath("$[0].status").value(200))
+                .andExpect(jsonPath("$[0].item.status").value(DONE))
+                .andExpect(jsonPath("$[0].item.doneAt").exists())
+                .andExpect(jsonPath("$[1].status").value(409))
+                .andExpect(jsonPath("$[1].message").value(PAST_DUE_ITEMS_CANNOT_BE_MODIFIED))
+                .andExpect(jsonPath("$[2].status").value(404))
+                .andExpect(jsonPath("$[2].message").value(TODO_ITEM_NOT_FOUND + missing))
+                .andExpect(jsonPath("$[3].status").value(400));
+
+        assertEquals(TodoStatus.DONE, store.findById(open.getId()).orElseThrow().getStatus());
+    }
+
+    // -------- helpers --------
+
+    private Map<String, Object> createItem(String description, Instant dueAt){
+        Map<String, Object> item = new HashMap<>();
+        item.put("description", description);
+        item.put("dueAt", dueAt.toString());
+        return item;
+    }
+
+    private Map<String, Object> statusChange(UUID id, String status){
+        return Map.of("id", id.toString(), "status", status);
+    }
+}
@@ -1,7 +1,9 @@
 package com.example.todos.simpletodoservice.controller;
 
 import com.example.todos.simpletodoservice.domain.TodoItem;
-import com.example.todos.simpletodoservice.repository.TodoItemRepository;
+import com.example.todos.simpletodoservice.repository.TodoStore;
+import com.example.todos.simpletodoservice.service.TodoService;
+import com.example.todos.simpletodoservice.stats.TodoStats;
 
 
 import com.jayway.jsonpath.JsonPath;
@@ -12,10 +14,16 @@ import org.junit.jupiter.params.provider.CsvSource;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 import tools.jackson.databind.ObjectMapper;
 
+import static com.example.todos.simpletodoservice.controller.TodoController.NEXT_CURSOR_HEADER;
+import static com.example.todos.simpletodoservice.tenant.TenantInterceptor.TENANT_HEADER;
 import static org.hamcrest.Matchers.hasItem;
 import static org.hamcrest.Matchers.hasSize;
 import static org.junit.jupiter.api.Assertions.assertEquals;
@@ -23,8 +31,11 @@ import static org.springframework.test.web.servlet.request.MockMvcRequestBuilder
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 import static com.example.todos.simpletodoservice.constants.ErrorMessages.*;
 
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
 import java.time.Instant;
 import java.util.Arrays;
+import java.util.Base64;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.UUID;
@@ -45,6 +56,9 @@ public class TodoControllerIntegrationTest {
     public static final String $_DONE_AT = "$.doneAt";
     public static final String $ = "$";
     public static final String ROOT_URL = "/api/v1/todos";
+    public static final String EXPORT_URL = "/api/v1/todos:export";
+    public static final String SEARCH_URL = "/api/v1/todos/search";
+    public static final String STATS_URL = "/api/v1/todos/stats";
     public static final String NOT_DONE = "NOT_DONE";
     public static final String DESCRIPTION_BUY_MILK = "Buy milk";
     public static final String DESCRIPTION_BUY_GROCERY = "Buy Grocery";
@@ -57,12 +71,22 @@ public class TodoControllerIntegrationTest {
     public static final String DESCRIPTION = "description";
     public static final String DUE_AT = "dueAt";
     public static final String MUST_BE_BETWEEN_0_AND_500 = "description: size must be between 0 and 500";
+    public static final String TENANT_ACME = "acme";
 
     @Autowired
     private MockMvc mockMvc;
 
     @Autowired
-    private TodoItemRepository repository;
+    private TodoStore store;
+
+    @Autowired
+    private TodoStats stats;
+
+    @Autowired
+    private TodoService todoService;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
 
     @Autowired
     ObjectMapper objectMapper;
@@ -70,7 +94,7 @@ public class TodoControllerIntegrationTest {
 
     @BeforeEach
     void cleanDB(){
-        repository.deleteAll();
+        store.deleteAll();
     }
 
 
@@ -172,7 +196,7 @@ public class TodoControllerIntegrationTest {
                         .content(body))
                 .andExpect(status().isCreated());
 
-        TodoItem savedTodo = repository.findAll().get(0);
+        TodoItem savedTodo = store.findAll().get(0);
 
         assertEquals(Instant.parse(expectedUtc), savedTodo.getDueAt());
     }
@@ -180,8 +204,8 @@ public class TodoControllerIntegrationTest {
     @Test
     void updateDescription_shouldPersistValidRequest() throws Exception {
 
-        /* Test-only setup: creates a past-due item via the repository to simulate overdue state */
-        TodoItem item = repository.save(
+        /* Test-only setup: creates a past-due item via the store to simulate overdue state */
+        TodoItem item = store.save(
                 new TodoItem(DESCRIPTION_BUY_MILK, Instant.now().plusSeconds(60))
         );
 
@@ -199,8 +223,8 @@ public class TodoControllerIntegrationTest {
     @Test
     void updateDescription_shouldRejectWhenTodoIsPastDue() throws Exception {
 
-        /* Test-only setup: creates a past-due item via the repository to simulate overdue state */
-        TodoItem item = repository.save(
+        /* Test-only setup: creates a past-due item via the store to simulate overdue state */
+        TodoItem item = store.save(
                 new TodoItem(DESCRIPTION_BUY_MILK, Instant.now().minusSeconds(60))
         );
 
@@ -293,8 +317,8 @@ public class TodoControllerIntegrationTest {
 
     @Test
     void markDone_rejectsWhenPastDue() throws Exception {
-        /* Test-only setup: creates a past-due item via the repository to simulate overdue state */
-        TodoItem item = repository.save(
+        /* Test-only setup: creates a past-due item via the store to simulate overdue state */
+        TodoItem item = store.save(
                 new TodoItem(DESCRIPTION_BUY_MILK, Instant.now().minusSeconds(60))
         );
 
@@ -306,8 +330,8 @@ public class TodoControllerIntegrationTest {
 
     @Test
     void markNotDone_rejectsWhenPastDue() throws Exception {
-        /* Test-only setup: creates a past-due item via the repository to simulate overdue state */
-        TodoItem item = repository.save(
+        /* Test-only setup: creates a past-due item via the store to simulate overdue state */
+        TodoItem item = store.save(
                 new TodoItem(DESCRIPTION_BUY_MILK, Instant.now().minusSeconds(60))
         );
 
@@ -342,8 +366,8 @@ public class TodoControllerIntegrationTest {
 
     @Test
     void getById_refreshesPastDueStatus() throws Exception {
-        /* Test-only setup: creates a past-due item via the repository to simulate overdue state */
-        TodoItem item = repository.save(
+        /* Test-only setup: creates a past-due item via the store to simulate overdue state */
+        TodoItem item = store.save(
                 new TodoItem(DESCRIPTION_BUY_MILK, Instant.now().minusSeconds(60))
         );
         mockMvc.perform(get(ROOT_URL + "/{id}", item.getId()))
@@ -376,12 +400,12 @@ public class TodoControllerIntegrationTest {
 
     @Test
     void getAll_refreshesPastDueStatus() throws Exception {
-        /* Test-only setup: creates a past-due item via the repository to simulate overdue state */
-        TodoItem past_due_item = repository.save(
+        /* Test-only setup: creates a past-due item via the store to simulate overdue state */
+        TodoItem past_due_item = store.save(
                 new TodoItem(DESCRIPTION_BUY_MILK, Instant.now().minusSeconds(60))
         );
 
-        TodoItem not_done_item = repository.save(
+        TodoItem not_done_item = store.save(
                 new TodoItem(DESCRIPTION_BUY_GROCERY, Instant.now().plusSeconds(60))
         );
 
@@ -391,6 +415,436 @@ public class TodoControllerIntegrationTest {
                 .andExpect(jsonPath($_ANY_STATUS).value(hasItem(NOT_DONE)));
     }
 
+    @Test
+    void getAll_shouldPageWithContinuationCursor() throws Exception {
+        String first = createTodoAndReturnId(DESCRIPTION_BUY_MILK, Instant.now().plusSeconds(60));
+        String second = createTodoAndReturnId(DESCRIPTION_BUY_GROCERY, Instant.now().plusSeconds(120));
+        String third = createTodoAndReturnId(DESCRIPTION_BUY_MILK, Instant.now().plusSeconds(180));
+
+        String cursor = mockMvc.perform(get(ROOT_URL).param("limit", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath($, hasSize(2)))
+                .andExpect(jsonPath("$[0].id").value(first))
+                .andExpect(jsonPath("$[1].id").value(second))
+                .andExpect(header().exists(NEXT_CURSOR_HEADER))
+                .andReturn()
+                .getResponse()
+                .getHeader(NEXT_CURSOR_HEADER);
+
+        mockMvc.perform(get(ROOT_URL).param("limit", "2").param("cursor", cursor))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath($, hasSize(1)))
+                .andExpect(jsonPath("$[0].id").value(third))
+                .andExpect(header().doesNotExist(NEXT_CURSOR_HEADER));
+    }
+
+    @Test
+    void getAll_shouldRejectInvalidCursor() throws Exception {
+        mockMvc.perform(get(ROOT_URL).param("cursor", "not-a-cursor"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath($_MESSAGE).value(INVALID_CURSOR));
+
+        /* a well-formed position without the sort it was issued for */
+        String untagged = Base64.getUrlEncoder().withoutPadding()
+                .encodeToString((Instant.now() + "," + UUID.randomUUID()).getBytes(StandardCharsets.UTF_8));
+        mockMvc.perform(get(ROOT_URL).param("cursor", untagged))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath($_MESSAGE).value(INVALID_CURSOR));
+    }
+
+    @Test
+    void getAll_shouldRejectNonPositiveLimit() throws Exception {
+        mockMvc.perform(get(ROOT_URL).param("limit", "0"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath($_MESSAGE).value(LIMIT_MUST_BE_POSITIVE));
+    }
+
+    @Test
+    void getById_shouldReturn304_whenETagMatches() throws Exception {
+        String id = createTodoAndReturnId(DESCRIPTION_BUY_MILK, Instant.now().plusSeconds(120));
+
+        String etag = mockMvc.perform(get(ROOT_URL + "/{id}", id))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"0-NOT_DONE\""))
+                .andReturn()
+                .getResponse()
+                .getHeader(HttpHeaders.ETAG);
+
+        mockMvc.perform(get(ROOT_URL + "/{id}", id).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, etag))
+                .andExpect(content().string(""));
+    }
+
+    @Test
+    void getById_shouldReturnNewETag_afterChange() throws Exception {
+        String id = createTodoAndReturnId(DESCRIPTION_BUY_MILK, Instant.now().plusSeconds(120));
+        String etag = mockMvc.perform(get(ROOT_URL + "/{id}", id))
+                .andReturn()
+                .getResponse()
+                .getHeader(HttpHeaders.ETAG);
+
+        mockMvc.perform(put(ROOT_URL + "/{id}/done", id))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get(ROOT_URL + "/{id}", id).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"1-DONE\""))
+                .andExpect(jsonPath($_STATUS).value(DONE));
+    }
+
+    @Test
+    void getAll_shouldReturn304_untilAnItemChanges() throws Exception {
+        String id = createTodoAndReturnId(DESCRIPTION_BUY_MILK, Instant.now().plusSeconds(120));
+
+        String etag = mockMvc.perform(get(ROOT_URL))
+                .andExpect(status().isOk())
+                .andExpect(header().exists(HttpHeaders.ETAG))
+                .andExpect(header().exists(HttpHeaders.LAST_MODIFIED))
+                .andReturn()
+                .getResponse()
+                .getHeader(HttpHeaders.ETAG);
+
+        mockMvc.perform(get(ROOT_URL).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+
+        mockMvc.perform(put(ROOT_URL + "/{id}/done", id))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get(ROOT_URL).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath($, hasSize(0)));
+    }
+
+    @Test
+    void markDone_shouldApplyWhenIfMatchIsCurrent() throws Exception {
+        String etag = mockMvc.perform(post(ROOT_URL)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(createRequestJson(DESCRIPTION_BUY_MILK, Instant.now().plusSeconds(120).toString())))
+                .andExpect(status().isCreated())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"0-NOT_DONE\""))
+                .andReturn()
+                .getResponse()
+                .getHeader(HttpHeaders.ETAG);
+        String id = store.findAll().getFirst().getId().toString();
+
+        mockMvc.perform(put(ROOT_URL + "/{id}/done", id).header(HttpHeaders.IF_MATCH, etag))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"1-DONE\""))
+                .andExpect(jsonPath($_STATUS).value(DONE));
+    }
+
+    @Test
+    void markDone_shouldReturn412WhenIfMatchIsStale() throws Exception {
+        String id = createTodoAndReturnId(DESCRIPTION_BUY_MILK, Instant.now().plusSeconds(120));
+        String etag = mockMvc.perform(get(ROOT_URL + "/{id}", id))
+                .andReturn()
+                .getResponse()
+                .getHeader(HttpHeaders.ETAG);
+
+        /* another client changes the item in between */
+        mockMvc.perform(put(ROOT_URL + "/{id}/description", id)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(updateDescriptionRequestJson(DESCRIPTION_BUY_GROCERY)))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(put(ROOT_URL + "/{id}/done", id).header(HttpHeaders.IF_MATCH, etag))
+                .andExpect(status().isPreconditionFailed())
+                .andExpect(jsonPath($_MESSAGE).value(IF_MATCH_NOT_SATISFIED));
+
+        mockMvc.perform(get(ROOT_URL + "/{id}", id))
+                .andExpect(jsonPath($_STATUS).value(NOT_DONE))
+                .andExpect(jsonPath($_DESCRIPTION).value(DESCRIPTION_BUY_GROCERY));
+    }
+
+    @Test
+    void updateDescription_shouldReturn412ForUnknownETag() throws Exception {
+        String id = createTodoAndReturnId(DESCRIPTION_BUY_MILK, Instant.now().plusSeconds(120));
+
+        mockMvc.perform(put(ROOT_URL + "/{id}/description", id)
+                        .header(HttpHeaders.IF_MATCH, "W/\"0-NOT_DONE\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(updateDescriptionRequestJson(DESCRIPTION_BUY_GROCERY)))
+                .andExpect(status().isPreconditionFailed());
+    }
+
+    @Test
+    void markDone_shouldReturn412ForIfMatchList() throws Exception {
+        String id = createTodoAndReturnId(DESCRIPTION_BUY_MILK, Instant.now().plusSeconds(120));
+
+        /* the current tag comes first; a list is refused as a whole, not read up to its first comma */
+        mockMvc.perform(put(ROOT_URL + "/{id}/done", id).header(HttpHeaders.IF_MATCH, "\"0-NOT_DONE\", \"1-DONE\""))
+                .andExpect(status().isPreconditionFailed())
+                .andExpect(jsonPath($_MESSAGE).value(IF_MATCH_NOT_SATISFIED));
+
+        mockMvc.perform(get(ROOT_URL + "/{id}", id))
+                .andExpect(jsonPath($_STATUS).value(NOT_DONE));
+    }
+
+    @Test
+    void export_shouldStreamJsonArray() throws Exception {
+        createTwoItemsAndMarkOneAsDone();
+
+        MvcResult result = mockMvc.perform(get(EXPORT_URL).param("includeDone", "true").accept(MediaType.APPLICATION_JSON))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath($, hasSize(2)));
+    }
+
+    @Test
+    void export_shouldStreamOneNdjsonLinePerItem() throws Exception {
+        String id2 = createTwoItemsAndMarkOneAsDone();
+
+        MvcResult result = mockMvc.perform(get(EXPORT_URL).accept(MediaType.APPLICATION_NDJSON))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        String body = mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON))
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+        String[] lines = body.split("\n");
+        assertEquals(1, lines.length);
+        String exported = JsonPath.read(lines[0], $_ID);
+        assertEquals(id2, exported);
+    }
+
+    @Test
+    void tenant_shouldOnlySeeItsOwnItems() throws Exception {
+        String body = createRequestJson(DESCRIPTION_BUY_MILK, Instant.now().plusSeconds(120).toString());
+        String responseJson = mockMvc.perform(post(ROOT_URL)
+                        .header(TENANT_HEADER, TENANT_ACME)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body))
+                .andExpect(status().isCreated())
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+        String id = JsonPath.read(responseJson, $_ID);
+
+        mockMvc.perform(get(ROOT_URL).header(TENANT_HEADER, TENANT_ACME))
+                .andExpect(status().isOk())
+                .andExpect(header().stringValues(HttpHeaders.VARY, hasItem(TENANT_HEADER)))
+                .andExpect(jsonPath($, hasSize(1)));
+        mockMvc.perform(get(ROOT_URL))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath($, hasSize(0)));
+        mockMvc.perform(get(ROOT_URL + "/{id}", id))
+                .andExpect(status().isNotFound());
+        mockMvc.perform(put(ROOT_URL + "/{id}/done", id))
+                .andExpect(status().isNotFound());
+
+        mockMvc.perform(get(ROOT_URL + "/{id}", id).header(TENANT_HEADER, TENANT_ACME))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath($_STATUS).value(NOT_DONE));
+    }
+
+    @Test
+    void tenant_shouldReturn400ForMalformedTenantId() throws Exception {
+        mockMvc.perform(get(ROOT_URL).header(TENANT_HEADER, "acme/../other"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath($_MESSAGE).value(INVALID_TENANT_ID));
+    }
+
+    @Test
+    void export_shouldOnlyStreamItemsOfTheTenant() throws Exception {
+        createTwoItemsAndMarkOneAsDone();
+
+        MvcResult result = mockMvc.perform(get(EXPORT_URL)
+                        .param("includeDone", "true")
+                        .header(TENANT_HEADER, TENANT_ACME)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath($, hasSize(0)));
+    }
+
+    @Test
+    void getAll_shouldFilterByReportedStatusAndDueAtRange() throws Exception {
+        Instant now = Instant.now();
+        TodoItem overdue = store.save(new TodoItem(DESCRIPTION_BUY_MILK, now.minusSeconds(60)));
+        String soon = createTodoAndReturnId(DESCRIPTION_BUY_GROCERY, now.plusSeconds(120));
+        String later = createTodoAndReturnId(DESCRIPTION_BUY_MILK, now.plusSeconds(600));
+
+        /* stored as NOT_DONE until the scheduler persists the transition, but listed and filtered as PAST_DUE */
+        mockMvc.perform(get(ROOT_URL).param("status", PAST_DUE))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath($, hasSize(1)))
+                .andExpect(jsonPath("$[0].id").value(overdue.getId().toString()));
+        mockMvc.perform(get(ROOT_URL).param("status", NOT_DONE))
+                .andExpect(jsonPath($, hasSize(2)));
+        mockMvc.perform(get(ROOT_URL)
+                        .param("dueFrom", now.toString())
+                        .param("dueTo", now.plusSeconds(300).toString()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath($, hasSize(1)))
+                .andExpect(jsonPath("$[0].id").value(soon));
+        mockMvc.perform(get(ROOT_URL).param("dueFrom", now.plusSeconds(300).toString()))
+                .andExpect(jsonPath($, hasSize(1)))
+                .andExpect(jsonPath("$[0].id").value(later));
+    }
+
+    @Test
+    void getAll_shouldSortByCreatedAtDescendingAcrossPages() throws Exception {
+        String first = createTodoAndReturnId(DESCRIPTION_BUY_MILK, Instant.now().plusSeconds(180));
+        String second = createTodoAndReturnId(DESCRIPTION_BUY_GROCERY, Instant.now().plusSeconds(60));
+        String third = createTodoAndReturnId(DESCRIPTION_BUY_MILK, Instant.now().plusSeconds(120));
+
+        String cursor = mockMvc.perform(get(ROOT_URL).param("sort", "createdAt,desc").param("limit", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath($, hasSize(2)))
+                .andExpect(jsonPath("$[0].id").value(third))
+                .andExpect(jsonPath("$[1].id").value(second))
+                .andReturn()
+                .getResponse()
+                .getHeader(NEXT_CURSOR_HEADER);
+
+        mockMvc.perform(get(ROOT_URL).param("sort", "createdAt,desc").param("limit", "2").param("cursor", cursor))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath($, hasSize(1)))
+                .andExpect(jsonPath("$[0].id").value(first))
+                .andExpect(header().doesNotExist(NEXT_CURSOR_HEADER));
+
+        /* a cursor only continues the sort it was issued for */
+        mockMvc.perform(get(ROOT_URL).param("limit", "2").param("cursor", cursor))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath($_MESSAGE).value(INVALID_CURSOR));
+    }
+
+    @Test
+    void getAll_shouldReturn400ForInvalidSortOrRange() throws Exception {
+        Instant now = Instant.now();
+
+        mockMvc.perform(get(ROOT_URL).param("sort", "description"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath($_MESSAGE).value(INVALID_SORT));
+        mockMvc.perform(get(ROOT_URL).param("sort", "dueAt,up"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath($_MESSAGE).value(INVALID_SORT));
+        mockMvc.perform(get(ROOT_URL)
+                        .param("createdFrom", now.toString())
+                        .param("createdTo", now.minusSeconds(1).toString()))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath($_MESSAGE).value(INVALID_RANGE));
+    }
+
+    @Test
+    void search_shouldFindItemsByWordPrefixAndFollowDescriptionUpdates() throws Exception {
+        String id = createTodoAndReturnId(DESCRIPTION_BUY_MILK, Instant.now().plusSeconds(120));
+        createTodoAndReturnId(DESCRIPTION_BUY_GROCERY, Instant.now().plusSeconds(180));
+
+        mockMvc.perform(get(SEARCH_URL).param("q", "mil"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath($, hasSize(1)))
+                .andExpect(jsonPath("$[0].id").value(id));
+        mockMvc.perform(get(SEARCH_URL).param("q", "buy"))
+                .andExpect(jsonPath($, hasSize(2)));
+
+        mockMvc.perform(put(ROOT_URL + "/{id}/description", id)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(updateDescriptionRequestJson("Buy oat drink")))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get(SEARCH_URL).param("q", "milk"))
+                .andExpect(jsonPath($, hasSize(0)));
+        mockMvc.perform(get(SEARCH_URL).param("q", "oat"))
+                .andExpect(jsonPath($, hasSize(1)));
+    }
+
+    @Test
+    void search_shouldFilterByStatusAndTenant() throws Exception {
+        createTwoItemsAndMarkOneAsDone();
+
+        mockMvc.perform(get(SEARCH_URL).param("q", "buy").param("status", DONE))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath($, hasSize(1)))
+                .andExpect(jsonPath("$[0].description").value(DESCRIPTION_BUY_MILK));
+        mockMvc.perform(get(SEARCH_URL).param("q", "buy").header(TENANT_HEADER, TENANT_ACME))
+                .andExpect(jsonPath($, hasSize(0)));
+    }
+
+    @Test
+    void search_shouldReturn400WithoutTerms() throws Exception {
+        mockMvc.perform(get(SEARCH_URL).param("q", "?!"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath($_MESSAGE).value(SEARCH_QUERY_MUST_HAVE_TERMS));
+    }
+
+    @Test
+    void stats_shouldFollowStatusChangesAndCountItemsDueSoon() throws Exception {
+        /* deleteAll() bypasses the service, so the counters are brought back in line first */
+        stats.reconcile();
+        String id = createTodoAndReturnId(DESCRIPTION_BUY_MILK, Instant.now().plusSeconds(120));
+        createTodoAndReturnId(DESCRIPTION_BUY_GROCERY, Instant.now().plusSeconds(180));
+        createTodoAndReturnId(DESCRIPTION_BUY_GROCERY, Instant.now().plus(Duration.ofDays(2)));
+
+        mockMvc.perform(put(ROOT_URL + "/{id}/done", id)).andExpect(status().isOk());
+        /* marking an item with the status it already has changes nothing, so it is not counted twice */
+        mockMvc.perform(put(ROOT_URL + "/{id}/done", id)).andExpect(status().isOk());
+
+        mockMvc.perform(get(STATS_URL))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.total").value(3))
+                .andExpect(jsonPath("$.byStatus.NOT_DONE").value(2))
+                .andExpect(jsonPath("$.byStatus.DONE").value(1))
+                .andExpect(jsonPath("$.byStatus.PAST_DUE").value(0))
+                .andExpect(jsonPath("$.dueSoon").value(1));
+
+        mockMvc.perform(put(ROOT_URL + "/{id}/not-done", id)).andExpect(status().isOk());
+
+        mockMvc.perform(get(STATS_URL))
+                .andExpect(jsonPath("$.byStatus.NOT_DONE").value(3))
+                .andExpect(jsonPath("$.byStatus.DONE").value(0))
+                .andExpect(jsonPath("$.dueSoon").value(2));
+        mockMvc.perform(get(STATS_URL).header(TENANT_HEADER, TENANT_ACME))
+                .andExpect(jsonPath("$.total").value(0));
+    }
+
+    @Test
+    void stats_shouldPickUpWritesMadePastTheServiceOnReconcile() throws Exception {
+        stats.reconcile();
+        /* Test-only setup: written through the store, so no change event reaches the counters */
+        store.save(new TodoItem(DESCRIPTION_BUY_MILK, Instant.now().plusSeconds(120)));
+
+        mockMvc.perform(get(STATS_URL))
+                .andExpect(jsonPath("$.total").value(0));
+
+        assertEquals(1, stats.reconcile());
+
+        mockMvc.perform(get(STATS_URL))
+                .andExpect(jsonPath("$.total").value(1))
+                .andExpect(jsonPath("$.byStatus.NOT_DONE").value(1))
+                .andExpect(jsonPath("$.dueSoon").value(1));
+        assertEquals(0, stats.reconcile());
+    }
+
+    @Test
+    void stats_shouldNotCorrectATenantWhoseChangeIsNotCountedYet() throws Exception {
+        stats.reconcile();
+
+        /* the read inside the transaction sees the new row before its event has moved the counters */
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            todoService.create(DESCRIPTION_BUY_MILK, Instant.now().plusSeconds(120));
+            assertEquals(0, stats.reconcile());
+        });
+
+        mockMvc.perform(get(STATS_URL))
+                .andExpect(jsonPath("$.total").value(1))
+                .andExpect(jsonPath("$.byStatus.NOT_DONE").value(1))
+                .andExpect(jsonPath("$.dueSoon").value(1));
+        assertEquals(0, stats.reconcile());
+    }
+
     // -------- helpers --------
 
     private String createTodoAndReturnId(String description, Instant dueAt) throws Exception {
@@ -0,0 +1,112 @@
+package com.example.todos.simpletodoservice.controller;
+
+import com.example.todos.simpletodoservice.domain.TodoItem;
+import com.example.todos.simpletodoservice.service.TodoService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.time.Instant;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+public class TodoEventStreamIntegrationTest {
+
+    public static final String STREAM_URL = "/api/v1/todos/stream";
+    public static final String DESCRIPTION_CALL_PLUMBER = "Call plumber";
+    public static final long TIMEOUT_MILLIS = 5_000;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private TodoService todoService;
+
+    @Test
+    void stream_shouldPushChangesAfterCommit() throws Exception {
+        // arrange
+        MvcResult subscription = subscribe(null);
+
+        // act
+        TodoItem item = todoService.create(DESCRIPTION_CALL_PLUMBER, Instant.now().plusSeconds(3600));
+        todoService.markDone(item.getId());
+
+        // assert
+        String created = awaitEvent(subscription, "created", item);
+        String done = awaitEvent(subscription, "done", item);
+        assertTrue(created.contains("\"status\":\"NOT_DONE\""));
+        assertTrue(done.contains("\"status\":\"DONE\""));
+    }
+
+    @Test
+    void stream_shouldResumeAfterLastEventId() throws Exception {
+        // arrange
+        MvcResult subscription = subscribe(null);
+        TodoItem first = todoService.create(DESCRIPTION_CALL_PLUMBER, Instant.now().plusSeconds(3600));
+        TodoItem second = todoService.create(DESCRIPTION_CALL_PLUMBER, Instant.now().plusSeconds(7200));
+        String firstEvent = awaitEvent(subscription, "created", first);
+        awaitEvent(subscription, "created", second);
+
+        // act
+        MvcResult resumed = subscribe(eventId(firstEvent));
+
+        // assert
+        awaitEvent(resumed, "created", second);
+        assertFalse(resumed.getResponse().getContentAsString().contains(first.getId().toString()));
+    }
+
+    @Test
+    void stream_shouldSendResetWhenResumingFromUnknownId() throws Exception {
+        // act
+        MvcResult resumed = subscribe(Long.MAX_VALUE);
+
+        // assert
+        long deadline = System.currentTimeMillis() + TIMEOUT_MILLIS;
+        while (!resumed.getResponse().getContentAsString().contains("event:reset")) {
+            assertTrue(System.currentTimeMillis() < deadline, "no reset event received");
+            Thread.sleep(20);
+        }
+    }
+
+    private MvcResult subscribe(Long lastEventId) throws Exception {
+        var builder = get(STREAM_URL);
+        if (lastEventId != null) {
+            builder.header("Last-Event-ID", lastEventId);
+        }
+        return mockMvc.perform(builder)
+                .andExpect(request().asyncStarted())
+                .andReturn();
+    }
+
+    /* Waits for the event of the given name about the item and returns its raw text */
+    private String awaitEvent(MvcResult subscription, String name, TodoItem item) throws Exception {
+        long deadline = System.currentTimeMillis() + TIMEOUT_MILLIS;
+        while (true) {
+            String match = Arrays.stream(subscription.getResponse().getContentAsString().split("\n\n"))
+                    .filter(event -> event.contains("event:" + name) && event.contains(item.getId().toString()))
+                    .findFirst()
+                    .orElse(null);
+            if (match != null) {
+                return match;
+            }
+            assertTrue(System.currentTimeMillis() < deadline, "no " + name + " event for " + item.getId());
+            Thread.sleep(20);
+        }
+    }
+
+    private static long eventId(String event) {
+        return Arrays.stream(event.split("\n"))
+                .filter(line -> line.startsWith("id:"))
+                .map(line -> Long.parseLong(line.substring(3).trim()))
+                .findFirst()
+                .orElseThrow();
+    }
+}
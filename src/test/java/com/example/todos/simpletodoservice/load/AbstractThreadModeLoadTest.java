@@ -0,0 +1,68 @@
+package com.example.todos.simpletodoservice.load;
+
+import com.example.todos.simpletodoservice.repository.TodoStore;
+import jdk.jfr.consumer.RecordingStream;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.net.URI;
+import java.nio.file.Files;
+import java.time.Duration;
+import java.util.concurrent.atomic.LongAdder;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/*
+ * Runs the same closed-loop TodoLoadGenerator mix against the service in each thread mode,
+ * so throughput and tail latency can be compared, and counts JFR pinned-virtual-thread events.
+ * Tagged "load": excluded from the default build, run with ./mvnw test -Pload-test.
+ */
+/* admission control would turn the overload this test creates on purpose into 429s */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = "todos.admission.enabled=false")
+@Tag("load")
+abstract class AbstractThreadModeLoadTest {
+
+    static final int CONCURRENCY = Integer.getInteger("load.concurrency", 400);
+    static final long SECONDS = Long.getLong("load.seconds", 20);
+
+    @Value("${local.server.port}")
+    private int port;
+
+    @Autowired
+    private TodoStore store;
+
+    @BeforeEach
+    void cleanDB(){
+        store.deleteAll();
+    }
+
+    void runLoad(String mode) throws Exception {
+        LongAdder pinned = new LongAdder();
+        LoadReport report;
+        try (RecordingStream pinning = new RecordingStream()) {
+            pinning.enable("jdk.VirtualThreadPinned").withThreshold(Duration.ofMillis(20));
+            pinning.onEvent("jdk.VirtualThreadPinned", event -> pinned.increment());
+            pinning.startAsync();
+
+            LoadOptions options = LoadOptions.parse(
+                    "--concurrency=" + CONCURRENCY,
+                    "--duration=PT" + SECONDS + "S",
+                    "--warmup=PT5S",
+                    "--name=" + mode);
+            report = new TodoLoadGenerator(options).run(URI.create("http://localhost:" + port));
+        }
+
+        String summary = report.summary() + "pinnedEvents=" + pinned.sum() + System.lineSeparator();
+        System.out.print(summary);
+        report.write();
+        Files.writeString(LoadReport.RESULTS_DIR.resolve(mode + "-summary.txt"), summary);
+
+        assertTrue(report.totalCount() > 0);
+        assertEquals(0, report.errorCount());
+    }
+}
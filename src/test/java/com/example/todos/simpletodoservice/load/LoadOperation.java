@@ -0,0 +1,10 @@
+package com.example.todos.simpletodoservice.load;
+
+/* Endpoint calls the load generator can issue; weights come from LoadOptions.mix */
+public enum LoadOperation {
+    CREATE,
+    GET,
+    LIST,
+    LIST_ALL,
+    MARK_DONE
+}
@@ -0,0 +1,57 @@
+package com.example.todos.simpletodoservice.load;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/*
+ * Settings of one load run, parsed from --key=value arguments.
+ * rate > 0 drives an open-loop schedule (requests/second, latency measured from the intended start time so queueing
+ * is not hidden); otherwise `concurrency` closed-loop clients send back to back.
+ */
+public record LoadOptions(URI baseUrl,
+                          int rate,
+                          int concurrency,
+                          Duration duration,
+                          Duration warmup,
+                          Map<LoadOperation, Integer> mix,
+                          int seedItems,
+                          String profiles,
+                          String name) {
+
+    public static final String DEFAULT_MIX = "get:60,list:15,list_all:5,create:10,mark_done:10";
+
+    public static LoadOptions parse(String... args) {
+        Map<String, String> values = new HashMap<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("expected --key=value but got: " + arg);
+            }
+            int split = arg.indexOf('=');
+            values.put(arg.substring(2, split), arg.substring(split + 1));
+        }
+        String baseUrl = values.get("base-url");
+        return new LoadOptions(baseUrl == null ? null : URI.create(baseUrl),
+                Integer.parseInt(values.getOrDefault("rate", "0")),
+                Integer.parseInt(values.getOrDefault("concurrency", "64")),
+                Duration.parse(values.getOrDefault("duration", "PT30S")),
+                Duration.parse(values.getOrDefault("warmup", "PT5S")),
+                parseMix(values.getOrDefault("mix", DEFAULT_MIX)),
+                Integer.parseInt(values.getOrDefault("seed", "1000")),
+                values.getOrDefault("profiles", ""),
+                values.getOrDefault("name", "load"));
+    }
+
+    /* "get:60,create:10" -> {GET=60, CREATE=10} */
+    static Map<LoadOperation, Integer> parseMix(String mix) {
+        Map<LoadOperation, Integer> weights = new EnumMap<>(LoadOperation.class);
+        for (String part : mix.split(",")) {
+            String[] pair = part.trim().split(":");
+            weights.put(LoadOperation.valueOf(pair[0].toUpperCase(Locale.ROOT)), Integer.parseInt(pair[1]));
+        }
+        return weights;
+    }
+}
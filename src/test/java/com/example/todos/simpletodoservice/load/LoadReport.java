@@ -0,0 +1,105 @@
+package com.example.todos.simpletodoservice.load;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/* HdrHistogram latency per operation (nanoseconds) plus response status counts for one measured run */
+public class LoadReport {
+
+    public static final Path RESULTS_DIR = Path.of("target", "load-results");
+    private static final double NANOS_PER_MS = 1_000_000.0;
+    /* status recorded for requests that failed before a response arrived */
+    static final int IO_ERROR = -1;
+
+    private final String name;
+    private final Map<LoadOperation, Recorder> recorders = new EnumMap<>(LoadOperation.class);
+    private final Map<Integer, LongAdder> statuses = new ConcurrentHashMap<>();
+    private final Map<LoadOperation, Histogram> histograms = new EnumMap<>(LoadOperation.class);
+    private Histogram total;
+    private Duration elapsed;
+
+    public LoadReport(String name) {
+        this.name = name;
+        for (LoadOperation operation : LoadOperation.values()) {
+            recorders.put(operation, new Recorder(3));
+        }
+    }
+
+    void record(LoadOperation operation, long latencyNanos, int status) {
+        recorders.get(operation).recordValue(Math.max(1, latencyNanos));
+        statuses.computeIfAbsent(status, key -> new LongAdder()).increment();
+    }
+
+    void finish(Duration elapsed) {
+        this.elapsed = elapsed;
+        this.total = new Histogram(3);
+        recorders.forEach((operation, recorder) -> {
+            Histogram histogram = recorder.getIntervalHistogram();
+            histograms.put(operation, histogram);
+            total.add(histogram);
+        });
+    }
+
+    public long totalCount() {
+        return total.getTotalCount();
+    }
+
+    /* Transport failures and 5xx responses; 4xx are reported separately since e.g. 409 on a past-due item is expected */
+    public long errorCount() {
+        return statuses.entrySet().stream()
+                .filter(entry -> entry.getKey() == IO_ERROR || entry.getKey() >= 500)
+                .mapToLong(entry -> entry.getValue().sum())
+                .sum();
+    }
+
+    public double throughput() {
+        return totalCount() / (elapsed.toNanos() / 1_000_000_000.0);
+    }
+
+    public double percentileMillis(double percentile) {
+        return total.getValueAtPercentile(percentile) / NANOS_PER_MS;
+    }
+
+    public String summary() {
+        StringBuilder out = new StringBuilder();
+        out.append(String.format("run=%s elapsed=%ds requests=%d throughput=%.1f/s statuses=%s%n",
+                name, elapsed.toSeconds(), totalCount(), throughput(), new ConcurrentSkipListMap<>(statuses)));
+        out.append(String.format("%-10s %10s %10s %10s %10s %10s%n", "operation", "count", "p50(ms)", "p99(ms)", "p999(ms)", "max(ms)"));
+        histograms.forEach((operation, histogram) -> appendRow(out, operation.name(), histogram));
+        appendRow(out, "TOTAL", total);
+        return out.toString();
+    }
+
+    /* Writes the summary and the full percentile distribution (HdrHistogram .hgrm, in milliseconds) */
+    public void write() throws IOException {
+        Files.createDirectories(RESULTS_DIR);
+        Files.writeString(RESULTS_DIR.resolve(name + "-summary.txt"), summary());
+        try (PrintStream out = new PrintStream(Files.newOutputStream(RESULTS_DIR.resolve(name + ".hgrm")))) {
+            total.outputPercentileDistribution(out, NANOS_PER_MS);
+        }
+    }
+
+    private void appendRow(StringBuilder out, String label, Histogram histogram) {
+        if (histogram.getTotalCount() == 0) {
+            return;
+        }
+        out.append(String.format("%-10s %10d %10.2f %10.2f %10.2f %10.2f%n",
+                label,
+                histogram.getTotalCount(),
+                histogram.getValueAtPercentile(50) / NANOS_PER_MS,
+                histogram.getValueAtPercentile(99) / NANOS_PER_MS,
+                histogram.getValueAtPercentile(99.9) / NANOS_PER_MS,
+                histogram.getMaxValue() / NANOS_PER_MS));
+    }
+}
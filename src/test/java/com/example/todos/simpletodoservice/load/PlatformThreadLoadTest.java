@@ -0,0 +1,11 @@
+package com.example.todos.simpletodoservice.load;
+
+import org.junit.jupiter.api.Test;
+
+class PlatformThreadLoadTest extends AbstractThreadModeLoadTest {
+
+    @Test
+    void platformThreads() throws Exception {
+        runLoad("platform-threads");
+    }
+}
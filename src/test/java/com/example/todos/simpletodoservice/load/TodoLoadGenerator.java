@@ -0,0 +1,250 @@
+package com.example.todos.simpletodoservice.load;
+
+import com.example.todos.simpletodoservice.SimpleTodoServiceApplication;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.LockSupport;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/*
+ * Self-contained HTTP load generator for the todo API.
+ * Without --base-url it boots the application in-process on a random port (embedded H2), seeds items through the batch
+ * endpoint, runs a warmup that is discarded, then measures the configured operation mix and reports HdrHistogram
+ * p50/p99/p999 latency and throughput per operation.
+ */
+public class TodoLoadGenerator {
+
+    private static final Pattern ID = Pattern.compile("\"id\"\\s*:\\s*\"([0-9a-fA-F-]{36})\"");
+    private static final int SEED_BATCH = 500;
+    private static final int ID_POOL_SIZE = 1 << 16;
+
+    private final LoadOptions options;
+    private final ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor();
+    private final HttpClient http = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .executor(clients)
+            .build();
+    private final IdPool ids = new IdPool(ID_POOL_SIZE);
+    private final LoadOperation[] schedule;
+
+    public TodoLoadGenerator(LoadOptions options) {
+        this.options = options;
+        this.schedule = weightedSchedule(options.mix());
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadOptions options = LoadOptions.parse(args);
+        ConfigurableApplicationContext embedded = null;
+        URI baseUrl = options.baseUrl();
+        if (baseUrl == null) {
+            embedded = startEmbedded(options.profiles());
+            baseUrl = URI.create("http://localhost:" + embedded.getEnvironment().getProperty("local.server.port"));
+        }
+        try {
+            LoadReport report = new TodoLoadGenerator(options).run(baseUrl);
+            System.out.print(report.summary());
+            report.write();
+        } finally {
+            if (embedded != null) {
+                embedded.close();
+            }
+        }
+    }
+
+    public LoadReport run(URI baseUrl) throws InterruptedException {
+        try {
+            seed(baseUrl);
+            drive(baseUrl, options.warmup(), new LoadReport(options.name() + "-warmup"));
+            LoadReport report = new LoadReport(options.name());
+            drive(baseUrl, options.duration(), report);
+            return report;
+        } finally {
+            clients.close();
+        }
+    }
+
+    private static ConfigurableApplicationContext startEmbedded(String profiles) {
+        SpringApplication application = new SpringApplication(SimpleTodoServiceApplication.class);
+        return application.run("--server.port=0",
+                "--spring.profiles.active=" + profiles,
+                "--todos.admission.enabled=false",
+                "--logging.level.root=WARN");
+    }
+
+    private void seed(URI baseUrl) {
+        for (int created = 0; created < options.seedItems(); created += SEED_BATCH) {
+            int size = Math.min(SEED_BATCH, options.seedItems() - created);
+            List<String> items = new ArrayList<>(size);
+            for (int i = 0; i < size; i++) {
+                items.add(createBody("seed " + (created + i)));
+            }
+            HttpRequest request = post(baseUrl, "/api/v1/todos:batch", "{\"items\":[" + String.join(",", items) + "]}");
+            send(request).ifPresent(this::collectIds);
+        }
+    }
+
+    private void drive(URI baseUrl, Duration duration, LoadReport report) throws InterruptedException {
+        long start = System.nanoTime();
+        long end = start + duration.toNanos();
+        if (options.rate() > 0) {
+            driveOpenLoop(baseUrl, start, end, report);
+        } else {
+            driveClosedLoop(baseUrl, end, report);
+        }
+        report.finish(Duration.ofNanos(System.nanoTime() - start));
+    }
+
+    /* Fixed arrival rate: each request is timed from its intended start, so server stalls show up as latency */
+    private void driveOpenLoop(URI baseUrl, long start, long end, LoadReport report) throws InterruptedException {
+        long interval = 1_000_000_000L / options.rate();
+        try (ExecutorService inFlight = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (long intended = start; intended < end; intended += interval) {
+                long wait = intended - System.nanoTime();
+                if (wait > 0) {
+                    LockSupport.parkNanos(wait);
+                }
+                long scheduledAt = intended;
+                LoadOperation operation = nextOperation();
+                inFlight.execute(() -> execute(baseUrl, operation, scheduledAt, report));
+            }
+        }
+    }
+
+    private void driveClosedLoop(URI baseUrl, long end, LoadReport report) throws InterruptedException {
+        try (ExecutorService workers = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < options.concurrency(); i++) {
+                workers.execute(() -> {
+                    while (System.nanoTime() < end) {
+                        execute(baseUrl, nextOperation(), System.nanoTime(), report);
+                    }
+                });
+            }
+        }
+    }
+
+    private void execute(URI baseUrl, LoadOperation operation, long startedAt, LoadReport report) {
+        HttpRequest request = request(baseUrl, operation);
+        int status;
+        try {
+            HttpResponse<String> response = http.send(request, HttpResponse.BodyHandlers.ofString());
+            status = response.statusCode();
+            if (operation == LoadOperation.CREATE && status == 201) {
+                collectIds(response.body());
+            }
+        } catch (IOException ex) {
+            status = LoadReport.IO_ERROR;
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            return;
+        }
+        report.record(operation, System.nanoTime() - startedAt, status);
+    }
+
+    private HttpRequest request(URI baseUrl, LoadOperation operation) {
+        return switch (operation) {
+            case CREATE -> post(baseUrl, "/api/v1/todos", createBody("load"));
+            case GET -> get(baseUrl, "/api/v1/todos/" + ids.random());
+            case LIST -> get(baseUrl, "/api/v1/todos?limit=50");
+            case LIST_ALL -> get(baseUrl, "/api/v1/todos?includeDone=true&limit=50");
+            case MARK_DONE -> HttpRequest.newBuilder(baseUrl.resolve("/api/v1/todos/" + ids.random() + "/done"))
+                    .PUT(HttpRequest.BodyPublishers.noBody())
+                    .build();
+        };
+    }
+
+    private LoadOperation nextOperation() {
+        return schedule[ThreadLocalRandom.current().nextInt(schedule.length)];
+    }
+
+    private Optional<String> send(HttpRequest request) {
+        try {
+            HttpResponse<String> response = http.send(request, HttpResponse.BodyHandlers.ofString());
+            return response.statusCode() < 300 ? Optional.of(response.body()) : Optional.empty();
+        } catch (IOException ex) {
+            return Optional.empty();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            return Optional.empty();
+        }
+    }
+
+    private void collectIds(String body) {
+        Matcher matcher = ID.matcher(body);
+        while (matcher.find()) {
+            ids.add(UUID.fromString(matcher.group(1)));
+        }
+    }
+
+    private static String createBody(String description) {
+        Instant dueAt = Instant.now().plus(Duration.ofDays(1 + ThreadLocalRandom.current().nextInt(30)));
+        return "{\"description\":\"" + description + "\",\"dueAt\":\"" + dueAt + "\"}";
+    }
+
+    private static HttpRequest get(URI baseUrl, String path) {
+        return HttpRequest.newBuilder(baseUrl.resolve(path)).GET().build();
+    }
+
+    private static HttpRequest post(URI baseUrl, String path, String json) {
+        return HttpRequest.newBuilder(baseUrl.resolve(path))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(json))
+                .build();
+    }
+
+    /* Operations repeated by weight, so picking one is a single random index */
+    private static LoadOperation[] weightedSchedule(Map<LoadOperation, Integer> mix) {
+        List<LoadOperation> slots = new ArrayList<>();
+        mix.forEach((operation, weight) -> {
+            for (int i = 0; i < weight; i++) {
+                slots.add(operation);
+            }
+        });
+        if (slots.isEmpty()) {
+            throw new IllegalArgumentException("operation mix must have a positive weight");
+        }
+        return slots.toArray(LoadOperation[]::new);
+    }
+
+    /* Fixed-size ring of known ids; newer ids overwrite the oldest once full */
+    private static final class IdPool {
+
+        private final AtomicReferenceArray<UUID> slots;
+        private final AtomicLong added = new AtomicLong();
+
+        IdPool(int capacity) {
+            this.slots = new AtomicReferenceArray<>(capacity);
+        }
+
+        void add(UUID id) {
+            slots.set((int) (added.getAndIncrement() % slots.length()), id);
+        }
+
+        UUID random() {
+            long known = Math.min(added.get(), slots.length());
+            if (known == 0) {
+                return UUID.randomUUID();
+            }
+            UUID id = slots.get(ThreadLocalRandom.current().nextInt((int) known));
+            return id != null ? id : UUID.randomUUID();
+        }
+    }
+}
@@ -0,0 +1,13 @@
+package com.example.todos.simpletodoservice.load;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.test.context.ActiveProfiles;
+
+@ActiveProfiles("virtual-threads")
+class VirtualThreadLoadTest extends AbstractThreadModeLoadTest {
+
+    @Test
+    void virtualThreads() throws Exception {
+        runLoad("virtual-threads");
+    }
+}
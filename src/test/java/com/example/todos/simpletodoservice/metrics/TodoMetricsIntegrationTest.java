@@ -0,0 +1,121 @@
+package com.example.todos.simpletodoservice.metrics;
+
+import com.example.todos.simpletodoservice.domain.TodoItem;
+import com.example.todos.simpletodoservice.exception.NotFoundException;
+import com.example.todos.simpletodoservice.repository.TodoStore;
+import com.example.todos.simpletodoservice.service.TodoService;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.Instant;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+public class TodoMetricsIntegrationTest {
+
+    public static final String DESCRIPTION = "Write report";
+
+    @Autowired
+    private TodoService todoService;
+
+    @Autowired
+    private TodoStore store;
+
+    @Autowired
+    private MeterRegistry registry;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void cleanDB(){
+        store.deleteAll();
+    }
+
+    @Test
+    void operations_shouldBeTimedByOutcome(){
+        // arrange
+        long created = operationCount("create", TodoMetrics.OUTCOME_SUCCESS);
+        long notFound = operationCount("getById", NotFoundException.class.getSimpleName());
+
+        // act
+        TodoItem item = todoService.create(DESCRIPTION, Instant.now().plusSeconds(3600));
+        todoService.getById(item.getId());
+        assertThrows(NotFoundException.class, () -> todoService.getById(UUID.randomUUID()));
+
+        // assert
+        assertEquals(created + 1, operationCount("create", TodoMetrics.OUTCOME_SUCCESS));
+        assertEquals(notFound + 1, operationCount("getById", NotFoundException.class.getSimpleName()));
+    }
+
+    @Test
+    void delegatingOverloads_shouldBeTimedOnce(){
+        // arrange
+        TodoItem item = todoService.create(DESCRIPTION, Instant.now().plusSeconds(3600));
+        long done = operationCount("markDone", TodoMetrics.OUTCOME_SUCCESS);
+
+        // act
+        todoService.markDone(item.getId());
+
+        // assert
+        assertEquals(done + 1, operationCount("markDone", TodoMetrics.OUTCOME_SUCCESS));
+    }
+
+    @Test
+    void getItems_shouldRecordPageSize(){
+        // arrange
+        todoService.create(DESCRIPTION, Instant.now().plusSeconds(3600));
+        todoService.create(DESCRIPTION, Instant.now().plusSeconds(7200));
+        DistributionSummary listSize = registry.get("todos.list.size").summary();
+        long pages = listSize.count();
+        double items = listSize.totalAmount();
+
+        // act
+        todoService.getItems(false, null, 10);
+
+        // assert
+        assertEquals(pages + 1, listSize.count());
+        assertEquals(items + 2, listSize.totalAmount());
+    }
+
+    @Test
+    void errorResponses_shouldBeCountedByExceptionAndStatus() throws Exception {
+        // arrange
+        double before = errorCount();
+
+        // act
+        mockMvc.perform(get("/api/v1/todos/{id}", UUID.randomUUID()))
+                .andExpect(status().isNotFound());
+
+        // assert
+        assertEquals(before + 1, errorCount());
+    }
+
+    private long operationCount(String operation, String outcome){
+        Timer timer = registry.find("todos.operation")
+                .tag("operation", operation)
+                .tag("outcome", outcome)
+                .timer();
+        return timer == null ? 0 : timer.count();
+    }
+
+    private double errorCount(){
+        var counter = registry.find("todos.errors")
+                .tag("exception", NotFoundException.class.getSimpleName())
+                .tag("status", "404")
+                .counter();
+        return counter == null ? 0 : counter.count();
+    }
+}
@@ -0,0 +1,277 @@
+package com.example.todos.simpletodoservice.repository;
+
+import com.example.todos.simpletodoservice.config.StorageProperties;
+import com.example.todos.simpletodoservice.domain.TodoItem;
+import com.example.todos.simpletodoservice.domain.TodoStatus;
+import com.example.todos.simpletodoservice.dto.TodoResponse;
+import com.example.todos.simpletodoservice.tenant.TenantContext;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.OptimisticLockingFailureException;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class InMemoryTodoStoreTest {
+
+    public static final String DESCRIPTION = "Water plants";
+    public static final String TENANT = TenantContext.DEFAULT_TENANT;
+    public static final String OTHER_TENANT = "acme";
+    public static final TodoQuery ALL = TodoQuery.of(true);
+    public static final TodoQuery NOT_DONE_ONLY = new TodoQuery(EnumSet.of(TodoStatus.NOT_DONE), null, null, null, null, null);
+
+    private final InMemoryTodoStore store = new InMemoryTodoStore(new StorageProperties(StorageProperties.Engine.MEMORY, 4, null));
+
+    @Test
+    void findPage_shouldWalkKeysetOrderAndFilterStatuses(){
+        // arrange
+        Instant base = Instant.now().plusSeconds(3600);
+        TodoItem first = store.save(new TodoItem(DESCRIPTION, base.plusSeconds(1)));
+        TodoItem done = new TodoItem(DESCRIPTION, base.plusSeconds(2));
+        done.setStatus(TodoStatus.DONE);
+        store.save(done);
+        TodoItem third = store.save(new TodoItem(DESCRIPTION, base.plusSeconds(3)));
+
+        // act
+        List<TodoResponse> open = store.findPage(TENANT, NOT_DONE_ONLY, null, Instant.now(), 10);
+        List<TodoResponse> afterFirst = store.findPage(TENANT, ALL, new TodoQuery.Position(first.getDueAt(), first.getId()), Instant.now(), 1);
+
+        // assert
+        assertEquals(List.of(first.getId(), third.getId()), open.stream().map(TodoResponse::id).toList());
+        assertEquals(List.of(done.getId()), afterFirst.stream().map(TodoResponse::id).toList());
+    }
+
+    @Test
+    void findPage_shouldOnlyReturnItemsOfTheTenant(){
+        // arrange
+        Instant dueAt = Instant.now().plusSeconds(3600);
+        TodoItem own = store.save(new TodoItem(DESCRIPTION, dueAt));
+        TodoItem other = store.save(new TodoItem(OTHER_TENANT, DESCRIPTION, dueAt.minusSeconds(1)));
+
+        // act
+        List<TodoResponse> page = store.findPage(TENANT, ALL, null, Instant.now(), 10);
+        Optional<TodoItem> crossTenant = store.updateStatus(TENANT, other.getId(), null, TodoStatus.DONE, dueAt, Instant.now());
+
+        // assert
+        assertEquals(List.of(own.getId()), page.stream().map(TodoResponse::id).toList());
+        assertTrue(crossTenant.isEmpty());
+        assertEquals(List.of(OTHER_TENANT, TENANT), store.findTenantIds());
+        assertEquals(List.of(other.getId()),
+                store.findPage(OTHER_TENANT, NOT_DONE_ONLY, null, Instant.now(), 10).stream().map(TodoResponse::id).toList());
+    }
+
+    @Test
+    void findPage_shouldApplyRangesAndReportedStatusAndSortByCreatedAtDescending(){
+        // arrange
+        Instant now = Instant.now();
+        TodoItem oldest = restored(now.minusSeconds(30), now.plusSeconds(3600));
+        TodoItem overdue = restored(now.minusSeconds(20), now.minusSeconds(60));
+        TodoItem newest = restored(now.minusSeconds(10), now.plusSeconds(7200));
+        TodoQuery newestFirst = new TodoQuery(null, null, null, null, null,
+                new TodoQuery.Sort(TodoQuery.SortField.CREATED_AT, true));
+        TodoQuery pastDue = new TodoQuery(EnumSet.of(TodoStatus.PAST_DUE), null, null, null, null, null);
+        TodoQuery dueWithinTwoHours = new TodoQuery(null, now, now.plusSeconds(7200), null, null, null);
+
+        // act
+        List<TodoResponse> all = store.findPage(TENANT, newestFirst, null, now, 10);
+        List<TodoResponse> afterNewest = store.findPage(TENANT, newestFirst,
+                new TodoQuery.Position(newest.getCreatedAt(), newest.getId()), now, 10);
+
+        // assert
+        assertEquals(List.of(newest.getId(), overdue.getId(), oldest.getId()), all.stream().map(TodoResponse::id).toList());
+        assertEquals(List.of(overdue.getId(), oldest.getId()), afterNewest.stream().map(TodoResponse::id).toList());
+        assertEquals(List.of(overdue.getId()),
+                store.findPage(TENANT, pastDue, null, now, 10).stream().map(TodoResponse::id).toList());
+        assertEquals(List.of(oldest.getId()),
+                store.findPage(TENANT, dueWithinTwoHours, null, now, 10).stream().map(TodoResponse::id).toList());
+    }
+
+    @Test
+    void save_shouldMoveItemBetweenIndexes(){
+        // arrange
+        TodoItem item = store.save(new TodoItem(DESCRIPTION, Instant.now().minusSeconds(60)));
+        item.setStatus(TodoStatus.DONE);
+
+        // act
+        store.save(item);
+
+        // assert
+        assertTrue(store.findOverdueIds(TENANT, TodoStatus.NOT_DONE, Instant.now(), 10).isEmpty());
+        assertEquals(1, store.findDueDates(TodoStatus.DONE, null, 10).size());
+        assertNotNull(store.findById(item.getId()).orElseThrow().getUpdatedAt());
+    }
+
+    @Test
+    void findById_shouldReturnCopy(){
+        // arrange
+        TodoItem saved = store.save(new TodoItem(DESCRIPTION, Instant.now().plusSeconds(60)));
+
+        // act
+        store.findById(saved.getId()).orElseThrow().setStatus(TodoStatus.DONE);
+
+        // assert: unsaved changes are not visible
+        assertEquals(TodoStatus.NOT_DONE, store.findById(saved.getId()).orElseThrow().getStatus());
+    }
+
+    @Test
+    void markPastDue_shouldOnlyTransitionOverdueNotDoneItems(){
+        // arrange
+        TodoItem overdue = store.save(new TodoItem(DESCRIPTION, Instant.now().minusSeconds(60)));
+        TodoItem upcoming = store.save(new TodoItem(DESCRIPTION, Instant.now().plusSeconds(3600)));
+
+        // act
+        List<UUID> changed = store.markPastDue(List.of(overdue.getId(), upcoming.getId()),
+                TodoStatus.NOT_DONE, TodoStatus.PAST_DUE, Instant.now());
+
+        // assert
+        assertEquals(List.of(overdue.getId()), changed);
+        assertEquals(List.of(overdue.getId()), store.findAllByStatus(TodoStatus.PAST_DUE).stream().map(TodoItem::getId).toList());
+        assertTrue(store.markPastDue(List.of(overdue.getId()), TodoStatus.NOT_DONE, TodoStatus.PAST_DUE, Instant.now()).isEmpty());
+    }
+
+    @Test
+    void updateStatus_shouldOnlyApplyToModifiableItemWithExpectedVersion(){
+        // arrange
+        Instant now = Instant.now();
+        TodoItem upcoming = store.save(new TodoItem(DESCRIPTION, now.plusSeconds(3600)));
+        TodoItem overdue = store.save(new TodoItem(DESCRIPTION, now.minusSeconds(60)));
+
+        // act
+        Optional<TodoItem> done = store.updateStatus(TENANT, upcoming.getId(), upcoming.getVersion(), TodoStatus.DONE, now, now);
+        Optional<TodoItem> stale = store.updateStatus(TENANT, upcoming.getId(), upcoming.getVersion(), TodoStatus.NOT_DONE, null, now);
+        Optional<TodoItem> pastDue = store.updateStatus(TENANT, overdue.getId(), null, TodoStatus.DONE, now, now);
+        Optional<TodoItem> missing = store.updateStatus(TENANT, UUID.randomUUID(), null, TodoStatus.DONE, now, now);
+
+        // assert
+        assertEquals(TodoStatus.DONE, done.orElseThrow().getStatus());
+        assertEquals(upcoming.getVersion() + 1, done.orElseThrow().getVersion());
+        assertTrue(stale.isEmpty());
+        assertTrue(pastDue.isEmpty());
+        assertTrue(missing.isEmpty());
+        assertEquals(TodoStatus.DONE, store.findById(upcoming.getId()).orElseThrow().getStatus());
+        assertEquals(1, store.findDueDates(TodoStatus.DONE, null, 10).size());
+    }
+
+    @Test
+    void updateStatus_shouldSkipSameStatusAndCountByStatus(){
+        // arrange
+        Instant now = Instant.now();
+        TodoItem upcoming = store.save(new TodoItem(DESCRIPTION, now.plusSeconds(3600)));
+        store.save(new TodoItem(DESCRIPTION, now.plusSeconds(7200)));
+        store.save(new TodoItem(OTHER_TENANT, DESCRIPTION, now.plusSeconds(3600)));
+        TodoItem done = store.updateStatus(TENANT, upcoming.getId(), null, TodoStatus.DONE, now, now).orElseThrow();
+
+        // act
+        Optional<TodoItem> again = store.updateStatus(TENANT, upcoming.getId(), null, TodoStatus.DONE, now, now);
+
+        // assert
+        assertTrue(again.isEmpty());
+        assertEquals(done.getVersion(), store.findById(upcoming.getId()).orElseThrow().getVersion());
+        assertEquals(1L, store.countByStatus(TENANT).get(TodoStatus.DONE));
+        assertEquals(1L, store.countByStatus(TENANT).get(TodoStatus.NOT_DONE));
+        assertEquals(1L, store.countByStatus(OTHER_TENANT).get(TodoStatus.NOT_DONE));
+    }
+
+    @Test
+    void countByDueMinute_shouldOnlyCountTheRangeOfTheStatus(){
+        // arrange
+        Instant minute = Instant.ofEpochSecond(Math.floorDiv(Instant.now().plusSeconds(3600).getEpochSecond(), 60) * 60);
+        store.save(new TodoItem(DESCRIPTION, minute.plusSeconds(10)));
+        store.save(new TodoItem(DESCRIPTION, minute.plusSeconds(20)));
+        store.save(new TodoItem(DESCRIPTION, minute.plusSeconds(70)));
+        store.save(new TodoItem(DESCRIPTION, minute.plusSeconds(130)));
+        store.save(new TodoItem(OTHER_TENANT, DESCRIPTION, minute.plusSeconds(10)));
+        TodoItem done = new TodoItem(DESCRIPTION, minute.plusSeconds(30));
+        done.setStatus(TodoStatus.DONE);
+        store.save(done);
+
+        // act
+        Map<Long, Long> counts = store.countByDueMinute(TENANT, TodoStatus.NOT_DONE, minute, minute.plusSeconds(120));
+
+        // assert
+        long first = minute.getEpochSecond() / 60;
+        assertEquals(Map.of(first, 2L, first + 1, 1L), counts);
+    }
+
+    @Test
+    void save_shouldRejectStaleVersion(){
+        // arrange
+        TodoItem saved = store.save(new TodoItem(DESCRIPTION, Instant.now().plusSeconds(3600)));
+        TodoItem stale = store.findById(saved.getId()).orElseThrow();
+        store.save(saved);
+
+        // act / assert
+        assertThrows(OptimisticLockingFailureException.class, () -> store.save(stale));
+    }
+
+    @Test
+    void saveAll_shouldStoreNothingWhenAnyItemIsStale(){
+        // arrange
+        TodoItem saved = store.save(new TodoItem(DESCRIPTION, Instant.now().plusSeconds(3600)));
+        TodoItem stale = store.findById(saved.getId()).orElseThrow();
+        store.save(saved);
+        TodoItem fresh = new TodoItem(DESCRIPTION, Instant.now().plusSeconds(7200));
+        stale.setStatus(TodoStatus.DONE);
+
+        // act
+        assertThrows(OptimisticLockingFailureException.class, () -> store.saveAll(List.of(fresh, stale)));
+
+        // assert: the insert before the stale item was not applied either
+        assertEquals(1, store.count());
+        assertEquals(TodoStatus.NOT_DONE, store.findById(saved.getId()).orElseThrow().getStatus());
+        assertEquals(1, store.findPage(TENANT, ALL, null, Instant.now(), 10).size());
+    }
+
+    @Test
+    void concurrentWriters_shouldLeaveIndexesConsistent() throws Exception {
+        // arrange
+        int writers = 8;
+        int itemsPerWriter = 500;
+        ExecutorService executor = Executors.newFixedThreadPool(writers);
+
+        // act: every writer creates its items and flips every other one to DONE
+        List<Future<?>> futures = new ArrayList<>();
+        for (int w = 0; w < writers; w++) {
+            futures.add(executor.submit(() -> {
+                for (int i = 0; i < itemsPerWriter; i++) {
+                    TodoItem item = store.save(new TodoItem(DESCRIPTION, Instant.now().plusSeconds(60 + i)));
+                    if (i % 2 == 0) {
+                        item.setStatus(TodoStatus.DONE);
+                        store.save(item);
+                    }
+                }
+            }));
+        }
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        executor.shutdown();
+
+        // assert
+        int total = writers * itemsPerWriter;
+        assertEquals(total, store.count());
+        assertEquals(total, store.findPage(TENANT, ALL, null, Instant.now(), total + 1).size());
+        assertEquals(total / 2, store.findDueDates(TodoStatus.DONE, null, total).size());
+        assertEquals(total / 2, store.findDueDates(TodoStatus.NOT_DONE, null, total).size());
+        assertEquals(total, store.findPage(TENANT, ALL, null, Instant.now(), total).stream().map(TodoResponse::id).distinct().count());
+        assertFalse(store.findById(UUID.randomUUID()).isPresent());
+    }
+
+    /* restored as-is, so createdAt is the given one rather than the time of the call */
+    private TodoItem restored(Instant createdAt, Instant dueAt){
+        TodoItem item = new TodoItem(DESCRIPTION, dueAt);
+        item.setId(UUID.randomUUID());
+        item.setCreatedAt(createdAt);
+        store.restore(item);
+        return item;
+    }
+}
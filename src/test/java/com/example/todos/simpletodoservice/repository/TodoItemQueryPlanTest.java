@@ -0,0 +1,204 @@
+package com.example.todos.simpletodoservice.repository;
+
+import com.example.todos.simpletodoservice.domain.TodoItem;
+import com.example.todos.simpletodoservice.domain.TodoStatus;
+import com.example.todos.simpletodoservice.dto.TodoResponse;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/*
+ * Checks the H2 plans of the hot list / sweep queries so a query or schema change cannot silently move them off
+ * their index. The statements are the ones Hibernate generates for the repository, captured by SqlCapture and
+ * explained with every parameter bound to null: H2 plans a statement when it is prepared, whatever the values.
+ */
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+        + "com.example.todos.simpletodoservice.repository.TodoItemQueryPlanTest$SqlCapture")
+public class TodoItemQueryPlanTest {
+
+    public static final String TENANT_STATUS_DUE_AT_INDEX = "IDX_TODO_ITEMS_TENANT_STATUS_DUE_AT";
+    public static final String TENANT_DUE_AT_INDEX = "IDX_TODO_ITEMS_TENANT_DUE_AT";
+    public static final String STATUS_DUE_AT_INDEX = "IDX_TODO_ITEMS_STATUS_DUE_AT";
+    public static final String TENANT_CREATED_AT_INDEX = "IDX_TODO_ITEMS_TENANT_CREATED_AT";
+    public static final String OTHER_TENANT = "acme";
+    public static final String TABLE_SCAN = "TABLESCAN";
+    public static final int PAGE_SIZE = 100;
+
+    @Autowired
+    private TodoItemRepository repository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @BeforeEach
+    void seed(){
+        repository.deleteAll();
+        List<TodoItem> items = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            items.add(new TodoItem("item " + i, Instant.now().plusSeconds(60L * i)));
+            items.add(new TodoItem(OTHER_TENANT, "item " + i, Instant.now().plusSeconds(60L * i)));
+        }
+        repository.saveAll(items);
+    }
+
+    @Test
+    void overdueScan_shouldUseTenantStatusDueAtIndex(){
+        String plan = explain(() -> repository.findOverdueIds(OTHER_TENANT, TodoStatus.NOT_DONE, Instant.now(),
+                PageRequest.of(0, PAGE_SIZE)));
+
+        assertUsesIndex(plan, TENANT_STATUS_DUE_AT_INDEX);
+    }
+
+    @Test
+    void tenantWalk_shouldSeekATenantIndex(){
+        String plan = explain(() -> repository.findTenantIdsAfter("", PageRequest.ofSize(1)));
+
+        assertUsesIndex(plan, TENANT_DUE_AT_INDEX, TENANT_STATUS_DUE_AT_INDEX, TENANT_CREATED_AT_INDEX);
+    }
+
+    @Test
+    void countByStatus_shouldUseTenantStatusDueAtIndex(){
+        String plan = explain(() -> repository.countByStatus(OTHER_TENANT));
+
+        assertUsesIndex(plan, TENANT_STATUS_DUE_AT_INDEX);
+    }
+
+    @Test
+    void dueSoonCounts_shouldUseTenantStatusDueAtIndex(){
+        String plan = explain(() -> repository.countByDueMinute(OTHER_TENANT, TodoStatus.NOT_DONE.name(),
+                Instant.now(), Instant.now().plus(Duration.ofDays(1))));
+
+        assertUsesIndex(plan, TENANT_STATUS_DUE_AT_INDEX);
+    }
+
+    @Test
+    void dueDateLoading_shouldUseStatusDueAtIndex(){
+        String plan = explain(() -> repository.findDueDates(TodoStatus.NOT_DONE, PageRequest.of(0, PAGE_SIZE)));
+
+        assertUsesIndex(plan, STATUS_DUE_AT_INDEX);
+    }
+
+    @Test
+    void dueDateLoadingAfterPosition_shouldUseStatusDueAtIndex(){
+        String plan = explain(() -> repository.findDueDatesAfter(TodoStatus.NOT_DONE, Instant.now(), UUID.randomUUID(),
+                PageRequest.of(0, PAGE_SIZE)));
+
+        assertUsesIndex(plan, STATUS_DUE_AT_INDEX);
+    }
+
+    @Test
+    void export_shouldUseTenantDueAtIndex(){
+        String plan = explain(() -> new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            try (Stream<TodoResponse> items = repository.streamAll(OTHER_TENANT)) {
+                items.findFirst();
+            }
+        }));
+
+        assertUsesIndex(plan, TENANT_DUE_AT_INDEX);
+    }
+
+    /* shapes compiled by TodoItemQueriesImpl */
+    @Test
+    void keysetPageAcrossStatuses_shouldUseTenantDueAtIndex(){
+        TodoQuery query = TodoQuery.of(true);
+
+        String plan = explain(() -> repository.findPage(OTHER_TENANT, query,
+                new TodoQuery.Position(Instant.now(), UUID.randomUUID()), Instant.now(), PAGE_SIZE + 1));
+
+        assertUsesIndex(plan, TENANT_DUE_AT_INDEX);
+    }
+
+    @Test
+    void keysetPageOfOpenItems_shouldUseATenantIndex(){
+        TodoQuery query = TodoQuery.of(false);
+
+        String plan = explain(() -> repository.findPage(OTHER_TENANT, query,
+                new TodoQuery.Position(Instant.now(), UUID.randomUUID()), Instant.now(), PAGE_SIZE + 1));
+
+        /* the status list and the keyset range can each narrow the walk; either tenant-leading index is fine */
+        assertUsesIndex(plan, TENANT_DUE_AT_INDEX, TENANT_STATUS_DUE_AT_INDEX);
+    }
+
+    @Test
+    void newestFirstPageInCreatedAtRange_shouldUseTenantCreatedAtIndex(){
+        Instant now = Instant.now();
+        TodoQuery query = new TodoQuery(null, null, null, now.minus(Duration.ofDays(7)), now,
+                TodoQuery.Sort.parse("createdAt,desc"));
+
+        String plan = explain(() -> repository.findPage(OTHER_TENANT, query,
+                new TodoQuery.Position(now, UUID.randomUUID()), now, PAGE_SIZE + 1));
+
+        assertUsesIndex(plan, TENANT_CREATED_AT_INDEX);
+    }
+
+    @Test
+    void pastDuePageInDueAtRange_shouldUseATenantIndex(){
+        Instant now = Instant.now();
+        TodoQuery query = new TodoQuery(EnumSet.of(TodoStatus.PAST_DUE), now.minus(Duration.ofDays(7)), now,
+                null, null, TodoQuery.Sort.DEFAULT);
+
+        String plan = explain(() -> repository.findPage(OTHER_TENANT, query, null, now, PAGE_SIZE + 1));
+
+        assertUsesIndex(plan, TENANT_DUE_AT_INDEX, TENANT_STATUS_DUE_AT_INDEX);
+    }
+
+    /* Runs the repository call, then EXPLAINs the last statement Hibernate prepared for it on this thread */
+    private String explain(Runnable query){
+        String sql = SqlCapture.lastStatementOf(query);
+        Object[] nulls = new Object[(int) sql.chars().filter(c -> c == '?').count()];
+        return jdbcTemplate.queryForObject("explain " + sql, String.class, nulls).toUpperCase();
+    }
+
+    private static void assertUsesIndex(String plan, String... anyOf){
+        assertFalse(plan.contains(TABLE_SCAN), plan);
+        assertTrue(Arrays.stream(anyOf).anyMatch(plan::contains), plan);
+    }
+
+    /* Registered by class name through the Hibernate property above; records only while a test thread asks it to */
+    public static class SqlCapture implements StatementInspector {
+
+        private static final ThreadLocal<List<String>> STATEMENTS = new ThreadLocal<>();
+
+        @Override
+        public String inspect(String sql) {
+            List<String> statements = STATEMENTS.get();
+            if (statements != null) {
+                statements.add(sql);
+            }
+            return sql;
+        }
+
+        static String lastStatementOf(Runnable query) {
+            List<String> statements = new ArrayList<>();
+            STATEMENTS.set(statements);
+            try {
+                query.run();
+            } finally {
+                STATEMENTS.remove();
+            }
+            assertFalse(statements.isEmpty(), "no statement was prepared");
+            return statements.getLast();
+        }
+    }
+}
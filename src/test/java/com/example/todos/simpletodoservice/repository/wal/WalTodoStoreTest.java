@@ -0,0 +1,211 @@
+package com.example.todos.simpletodoservice.repository.wal;
+
+import com.example.todos.simpletodoservice.config.StorageProperties;
+import com.example.todos.simpletodoservice.domain.TodoItem;
+import com.example.todos.simpletodoservice.domain.TodoStatus;
+import com.example.todos.simpletodoservice.repository.TodoQuery;
+import com.example.todos.simpletodoservice.tenant.TenantContext;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class WalTodoStoreTest {
+
+    public static final String DESCRIPTION = "Renew passport";
+    public static final String NEW_DESCRIPTION = "Renew passport and ID";
+    public static final String TENANT = TenantContext.DEFAULT_TENANT;
+    public static final String OTHER_TENANT = "acme";
+
+    @TempDir
+    Path directory;
+
+    private WalTodoStore store;
+
+    @AfterEach
+    void closeStore(){
+        if (store != null) {
+            store.destroy();
+        }
+    }
+
+    @Test
+    void reopen_shouldReplayEveryMutation(){
+        // arrange
+        store = open(DataSize.ofMegabytes(1));
+        TodoItem renamed = store.save(new TodoItem(DESCRIPTION, Instant.now().plusSeconds(3600)));
+        renamed.setDescription(NEW_DESCRIPTION);
+        store.save(renamed);
+        TodoItem overdue = store.save(new TodoItem(OTHER_TENANT, DESCRIPTION, Instant.now().minusSeconds(60)));
+        store.markPastDue(List.of(overdue.getId()), TodoStatus.NOT_DONE, TodoStatus.PAST_DUE, Instant.now());
+
+        // act
+        store = reopen(DataSize.ofMegabytes(1));
+
+        // assert
+        assertEquals(2, store.count());
+        TodoItem recovered = store.findById(renamed.getId()).orElseThrow();
+        assertEquals(NEW_DESCRIPTION, recovered.getDescription());
+        assertEquals(renamed.getDueAt(), recovered.getDueAt());
+        assertNotNull(recovered.getUpdatedAt());
+        assertEquals(TodoStatus.PAST_DUE, store.findById(overdue.getId()).orElseThrow().getStatus());
+        assertEquals(OTHER_TENANT, store.findById(overdue.getId()).orElseThrow().getTenantId());
+        assertEquals(1, store.findPage(TENANT, TodoQuery.of(true), null, Instant.now(), 2).size());
+    }
+
+    @Test
+    void reopen_shouldReplayDeleteAll(){
+        // arrange
+        store = open(DataSize.ofMegabytes(1));
+        store.save(new TodoItem(DESCRIPTION, Instant.now().plusSeconds(60)));
+        store.deleteAll();
+        TodoItem kept = store.save(new TodoItem(DESCRIPTION, Instant.now().plusSeconds(60)));
+
+        // act
+        store = reopen(DataSize.ofMegabytes(1));
+
+        // assert
+        assertEquals(1, store.count());
+        assertTrue(store.findById(kept.getId()).isPresent());
+    }
+
+    @Test
+    void snapshot_shouldCompactSealedSegments() throws IOException {
+        // arrange: 64KB segments roll every few hundred records
+        store = open(DataSize.ofKilobytes(64));
+        for (int i = 0; i < 2_000; i++) {
+            store.save(new TodoItem(DESCRIPTION + " " + i, Instant.now().plusSeconds(60 + i)));
+        }
+        assertTrue(count("segment-") > 1);
+
+        // act
+        store.snapshot();
+        TodoItem afterSnapshot = store.save(new TodoItem(DESCRIPTION, Instant.now().plusSeconds(60)));
+        store = reopen(DataSize.ofKilobytes(64));
+
+        // assert
+        assertEquals(1, count("segment-"));
+        assertEquals(1, count("snapshot-"));
+        assertEquals(2_001, store.count());
+        assertTrue(store.findById(afterSnapshot.getId()).isPresent());
+    }
+
+    @Test
+    void reopen_shouldDiscardTornTailAndKeepAppending() throws IOException {
+        // arrange
+        store = open(DataSize.ofMegabytes(1));
+        TodoItem durable = store.save(new TodoItem(DESCRIPTION, Instant.now().plusSeconds(60)));
+        store.destroy();
+        store = null;
+        try (FileChannel channel = FileChannel.open(segment(), StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            /* a frame header whose payload never made it to disk */
+            channel.write(ByteBuffer.allocate(8).putInt(100).putInt(42).flip(), findEnd(channel));
+        }
+
+        // act
+        store = open(DataSize.ofMegabytes(1));
+        TodoItem appended = store.save(new TodoItem(NEW_DESCRIPTION, Instant.now().plusSeconds(60)));
+        store = reopen(DataSize.ofMegabytes(1));
+
+        // assert
+        assertEquals(2, store.count());
+        assertTrue(store.findById(durable.getId()).isPresent());
+        assertTrue(store.findById(appended.getId()).isPresent());
+    }
+
+    @Test
+    void reopen_shouldDropATornBatchAsAWhole() throws IOException {
+        // arrange
+        store = open(DataSize.ofMegabytes(1));
+        TodoItem durable = store.save(new TodoItem(DESCRIPTION, Instant.now().plusSeconds(60)));
+        store.saveAll(List.of(new TodoItem(DESCRIPTION, Instant.now().plusSeconds(60)),
+                new TodoItem(NEW_DESCRIPTION, Instant.now().plusSeconds(120))));
+        store.destroy();
+        store = null;
+        try (FileChannel channel = FileChannel.open(segment(), StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            /* the last byte of the batch's frame never made it to disk */
+            List<Long> offsets = frameOffsets(channel);
+            channel.write(ByteBuffer.wrap(new byte[]{0x5A}), offsets.getLast() - 1);
+        }
+
+        // act
+        store = open(DataSize.ofMegabytes(1));
+
+        // assert
+        assertEquals(1, store.count());
+        assertTrue(store.findById(durable.getId()).isPresent());
+    }
+
+    @Test
+    void open_shouldRefuseAnotherFormatVersion() throws IOException {
+        // arrange
+        store = open(DataSize.ofMegabytes(1));
+        store.save(new TodoItem(DESCRIPTION, Instant.now().plusSeconds(60)));
+        store.destroy();
+        store = null;
+        try (FileChannel channel = FileChannel.open(segment(), StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.wrap(new byte[]{(byte) (WriteAheadLog.FORMAT_VERSION + 1)}), 0);
+        }
+
+        // act / assert
+        assertThrows(IllegalStateException.class, () -> open(DataSize.ofMegabytes(1)));
+    }
+
+    private WalTodoStore open(DataSize segmentSize){
+        return new WalTodoStore(new StorageProperties(StorageProperties.Engine.WAL, 4,
+                new StorageProperties.Wal(directory, segmentSize, Duration.ofMinutes(10))));
+    }
+
+    private WalTodoStore reopen(DataSize segmentSize){
+        store.destroy();
+        return open(segmentSize);
+    }
+
+    private Path segment() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(path -> path.getFileName().toString().startsWith("segment-")).findFirst().orElseThrow();
+        }
+    }
+
+    private long count(String prefix) throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(path -> path.getFileName().toString().startsWith(prefix)).count();
+        }
+    }
+
+    /* Offset of the zero length that ends the segment's frames, which start after the format version byte */
+    private static long findEnd(FileChannel channel) throws IOException {
+        return frameOffsets(channel).getLast();
+    }
+
+    /* Offsets of every frame of the segment, followed by the end offset */
+    private static List<Long> frameOffsets(FileChannel channel) throws IOException {
+        List<Long> offsets = new ArrayList<>();
+        ByteBuffer frame = ByteBuffer.allocate(4);
+        long position = 1;
+        while (true) {
+            offsets.add(position);
+            frame.clear();
+            channel.read(frame, position);
+            int length = frame.flip().getInt();
+            if (length == 0) {
+                return offsets;
+            }
+            position += 8 + length;
+        }
+    }
+}
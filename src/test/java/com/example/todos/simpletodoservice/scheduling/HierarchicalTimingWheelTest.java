@@ -0,0 +1,95 @@
+package com.example.todos.simpletodoservice.scheduling;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class HierarchicalTimingWheelTest {
+
+    private final List<String> fired = new CopyOnWriteArrayList<>();
+    private CountDownLatch latch;
+    private HierarchicalTimingWheel<String> wheel;
+
+    @AfterEach
+    void closeWheel(){
+        wheel.close();
+    }
+
+    @Test
+    void schedule_shouldFireOnceDeadlinePasses() throws Exception {
+        // arrange
+        startWheel(1);
+        Instant start = Instant.now();
+
+        // act
+        wheel.schedule("a", start.plusMillis(50));
+
+        // assert
+        assertTrue(latch.await(2, TimeUnit.SECONDS));
+        assertEquals(List.of("a"), fired);
+        assertFalse(Instant.now().isBefore(start.plusMillis(50)));
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    void schedule_shouldFireImmediatelyWhenAlreadyDue() throws Exception {
+        startWheel(1);
+
+        wheel.schedule("a", Instant.now().minusSeconds(60));
+
+        assertTrue(latch.await(1, TimeUnit.SECONDS));
+        assertEquals(List.of("a"), fired);
+    }
+
+    @Test
+    void schedule_shouldCascadeFromOverflowLevels() throws Exception {
+        // arrange: 5ms x 4 slots, so 300ms sits several levels up
+        startWheel(2);
+
+        // act
+        wheel.schedule("late", Instant.now().plusMillis(300));
+        wheel.schedule("early", Instant.now().plusMillis(20));
+
+        // assert
+        assertTrue(latch.await(3, TimeUnit.SECONDS));
+        assertEquals(List.of("early", "late"), fired);
+    }
+
+    @Test
+    void cancel_shouldPreventExpiry() throws Exception {
+        startWheel(1);
+
+        wheel.schedule("a", Instant.now().plusMillis(50));
+        assertTrue(wheel.cancel("a"));
+
+        assertFalse(latch.await(300, TimeUnit.MILLISECONDS));
+        assertTrue(fired.isEmpty());
+    }
+
+    @Test
+    void schedule_shouldReplacePendingDeadlineForSameKey() throws Exception {
+        startWheel(1);
+
+        wheel.schedule("a", Instant.now().plusMillis(30));
+        wheel.schedule("a", Instant.now().plusSeconds(60));
+
+        assertFalse(latch.await(300, TimeUnit.MILLISECONDS));
+        assertEquals(1, wheel.size());
+    }
+
+    private void startWheel(int expectedExpiries){
+        latch = new CountDownLatch(expectedExpiries);
+        wheel = new HierarchicalTimingWheel<>(Duration.ofMillis(5), 4, Runnable::run, key -> {
+            fired.add(key);
+            latch.countDown();
+        }, "test-timer");
+    }
+}
@@ -0,0 +1,8 @@
+package com.example.todos.simpletodoservice.scheduling;
+
+import org.springframework.test.context.ActiveProfiles;
+
+/* Runs every PastDueSweeperIntegrationTest case against the in-memory storage engine */
+@ActiveProfiles("in-memory")
+public class InMemoryPastDueSweeperIntegrationTest extends PastDueSweeperIntegrationTest {
+}
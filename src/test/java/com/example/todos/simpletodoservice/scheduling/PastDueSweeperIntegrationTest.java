@@ -0,0 +1,63 @@
+package com.example.todos.simpletodoservice.scheduling;
+
+import com.example.todos.simpletodoservice.domain.TodoItem;
+import com.example.todos.simpletodoservice.domain.TodoStatus;
+import com.example.todos.simpletodoservice.repository.TodoStore;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.Instant;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@SpringBootTest(properties = "todos.past-due-sweeper.batch-size=2")
+public class PastDueSweeperIntegrationTest {
+
+    public static final String DESCRIPTION_PAY_RENT = "Pay rent";
+
+    @Autowired
+    private PastDueSweeper sweeper;
+
+    @Autowired
+    private TodoStore store;
+
+    @BeforeEach
+    void cleanDB(){
+        store.deleteAll();
+    }
+
+    @Test
+    void sweep_shouldMarkAllOverdueItemsAcrossBatches(){
+        // arrange: five overdue items with a batch size of two
+        for (int i = 1; i <= 5; i++) {
+            store.save(new TodoItem(DESCRIPTION_PAY_RENT, Instant.now().minusSeconds(60L * i)));
+        }
+        TodoItem upcoming = store.save(new TodoItem(DESCRIPTION_PAY_RENT, Instant.now().plusSeconds(3600)));
+
+        // act
+        int transitioned = sweeper.sweep();
+
+        // assert
+        assertEquals(5, transitioned);
+        assertEquals(5, store.findAllByStatus(TodoStatus.PAST_DUE).size());
+        assertEquals(TodoStatus.NOT_DONE, store.findById(upcoming.getId()).orElseThrow().getStatus());
+    }
+
+    @Test
+    void sweep_shouldLeaveDoneItemsUntouched(){
+        // arrange
+        TodoItem done = new TodoItem(DESCRIPTION_PAY_RENT, Instant.now().minusSeconds(60));
+        done.setStatus(TodoStatus.DONE);
+        done.setDoneAt(Instant.now().minusSeconds(120));
+        store.save(done);
+
+        // act
+        int transitioned = sweeper.sweep();
+
+        // assert
+        assertEquals(0, transitioned);
+        assertEquals(TodoStatus.DONE, store.findById(done.getId()).orElseThrow().getStatus());
+    }
+}
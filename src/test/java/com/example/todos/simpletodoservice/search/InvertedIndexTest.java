@@ -0,0 +1,106 @@
+package com.example.todos.simpletodoservice.search;
+
+import com.example.todos.simpletodoservice.domain.TodoStatus;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class InvertedIndexTest {
+
+    private final InvertedIndex index = new InvertedIndex(2);
+    private final Instant dueAt = Instant.now().plusSeconds(3600);
+
+    @Test
+    void tokenize_shouldLowercaseFoldAccentsAndSplitOnPunctuation(){
+        assertEquals(List.of("buy", "creme", "brulee", "x2", "cafe"),
+                InvertedIndex.tokenize("Buy crème-brûlée (x2) @ Café!"));
+    }
+
+    @Test
+    void search_shouldMatchPrefixesOfEveryTerm(){
+        // arrange
+        UUID milk = upsert("Buy milk at the grocery", dueAt.plusSeconds(2));
+        UUID milkshake = upsert("Make a milkshake", dueAt.plusSeconds(1));
+        upsert("Buy bread", dueAt);
+
+        // act / assert
+        assertEquals(List.of(milkshake, milk), ids(index.search("MILK", document -> true, 10)));
+        assertEquals(List.of(milk), ids(index.search("buy mil", document -> true, 10)));
+        assertEquals(List.of(milk), ids(index.search("gro milk", document -> true, 10)));
+        assertTrue(index.search("milk cheese", document -> true, 10).isEmpty());
+    }
+
+    @Test
+    void search_shouldMatchShortTermsOnlyExactly(){
+        // arrange
+        UUID a = upsert("Plan a trip", dueAt);
+        upsert("Call Anna", dueAt);
+
+        // act / assert
+        assertEquals(List.of(a), ids(index.search("a", document -> true, 10)));
+    }
+
+    @Test
+    void upsert_shouldReplaceTermsAndIgnoreOlderVersions(){
+        // arrange
+        UUID id = UUID.randomUUID();
+        index.upsert(id, 0, "Water plants", TodoStatus.NOT_DONE, dueAt);
+        index.upsert(id, 1, "Feed cat", TodoStatus.NOT_DONE, dueAt);
+
+        // act
+        index.upsert(id, 0, "Water plants", TodoStatus.NOT_DONE, dueAt);
+
+        // assert
+        assertTrue(index.search("water", document -> true, 10).isEmpty());
+        assertEquals(List.of(id), ids(index.search("cat", document -> true, 10)));
+        assertEquals(1, index.size());
+    }
+
+    @Test
+    void search_shouldKeepTheEarliestMatchesUpToTheLimit(){
+        // arrange
+        List<UUID> ids = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            ids.add(upsert("Water plant " + i, dueAt.plusSeconds(20 - i)));
+        }
+        upsert("Water lawn", null);
+
+        // act
+        List<InvertedIndex.Document> found = index.search("plant", document -> true, 3);
+
+        // assert
+        assertEquals(List.of(ids.get(19), ids.get(18), ids.get(17)), ids(found));
+        assertTrue(index.search("plant", document -> true, 0).isEmpty());
+    }
+
+    @Test
+    void search_shouldApplyFilterAndRemoval(){
+        // arrange
+        UUID done = upsert("Pay rent", dueAt);
+        index.updateStatus(done, TodoStatus.DONE);
+        UUID open = upsert("Pay taxes", dueAt);
+        UUID removed = upsert("Pay bills", dueAt);
+        index.remove(removed);
+
+        // act
+        List<InvertedIndex.Document> found = index.search("pay", document -> document.status() != TodoStatus.DONE, 10);
+
+        // assert
+        assertEquals(List.of(open), ids(found));
+    }
+
+    private UUID upsert(String description, Instant dueAt){
+        UUID id = UUID.randomUUID();
+        index.upsert(id, 0, description, TodoStatus.NOT_DONE, dueAt);
+        return id;
+    }
+
+    private static List<UUID> ids(List<InvertedIndex.Document> documents){
+        return documents.stream().map(InvertedIndex.Document::id).toList();
+    }
+}
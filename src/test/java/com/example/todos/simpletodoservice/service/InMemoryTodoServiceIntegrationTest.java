@@ -0,0 +1,8 @@
+package com.example.todos.simpletodoservice.service;
+
+import org.springframework.test.context.ActiveProfiles;
+
+/* Runs every TodoServiceIntegrationTest case against the in-memory storage engine */
+@ActiveProfiles("in-memory")
+public class InMemoryTodoServiceIntegrationTest extends TodoServiceIntegrationTest {
+}
@@ -2,8 +2,9 @@ package com.example.todos.simpletodoservice.service;
 
 import com.example.todos.simpletodoservice.domain.TodoItem;
 import com.example.todos.simpletodoservice.domain.TodoStatus;
+import com.example.todos.simpletodoservice.dto.TodoResponse;
 import com.example.todos.simpletodoservice.exception.PastDueModificationException;
-import com.example.todos.simpletodoservice.repository.TodoItemRepository;
+import com.example.todos.simpletodoservice.repository.TodoStore;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -22,11 +23,11 @@ public class TodoServiceIntegrationTest {
     private TodoService todoService;
 
     @Autowired
-    private TodoItemRepository repository;
+    private TodoStore store;
 
     @BeforeEach
     void cleanDB(){
-        repository.deleteAll();
+        store.deleteAll();
     }
 
     @Test
@@ -36,10 +37,10 @@ public class TodoServiceIntegrationTest {
         TodoItem created = todoService.create(DESCRIPTION_DO_ASSIGNMENT, past);
 
         //act
-        TodoItem loaded = todoService.getById(created.getId());
+        TodoResponse loaded = todoService.getById(created.getId());
 
         //assert
-        assertEquals(TodoStatus.PAST_DUE, loaded.getStatus());
+        assertEquals(TodoStatus.PAST_DUE, loaded.status());
     }
 
     @Test
@@ -66,4 +67,55 @@ public class TodoServiceIntegrationTest {
         assertEquals(TodoStatus.DONE, done.getStatus());
         assertNotNull(done.getDoneAt());
     }
+
+    @Test
+    void getById_shouldServeCachedItemUntilServiceWrites() {
+        // arrange
+        TodoItem created = todoService.create(DESCRIPTION_DO_ASSIGNMENT, Instant.now().plusSeconds(3600));
+        todoService.getById(created.getId());
+
+        /* a write that bypasses the service is not visible while the entry is cached */
+        TodoItem row = store.findById(created.getId()).orElseThrow();
+        row.setDescription(NEW_DESCRIPTION);
+        store.save(row);
+        assertEquals(DESCRIPTION_DO_ASSIGNMENT, todoService.getById(created.getId()).description());
+
+        // act
+        todoService.markDone(created.getId());
+
+        // assert: the service write refreshed the cached entry
+        TodoResponse loaded = todoService.getById(created.getId());
+        assertEquals(TodoStatus.DONE, loaded.status());
+        assertEquals(NEW_DESCRIPTION, loaded.description());
+    }
+
+    @Test
+    void getById_shouldNotServeCachedNotDoneItemPastItsDueAt() throws InterruptedException {
+        // arrange
+        TodoItem created = todoService.create(DESCRIPTION_DO_ASSIGNMENT, Instant.now().plusMillis(300));
+        assertEquals(TodoStatus.NOT_DONE, todoService.getById(created.getId()).status());
+
+        // act
+        Thread.sleep(500);
+
+        // assert
+        assertEquals(TodoStatus.PAST_DUE, todoService.getById(created.getId()).status());
+    }
+
+    @Test
+    void create_shouldPersistPastDueFromTheTimerOnceCommitted() throws InterruptedException {
+        // arrange
+        Instant past = Instant.now().minusSeconds(60);
+
+        // act: the timer expires at once, so it must only be armed after the insert has committed
+        TodoItem created = todoService.create(DESCRIPTION_DO_ASSIGNMENT, past);
+
+        // assert: the stored status moves without the sweeper
+        TodoStatus stored = TodoStatus.NOT_DONE;
+        for (int attempt = 0; attempt < 50 && stored != TodoStatus.PAST_DUE; attempt++) {
+            Thread.sleep(100);
+            stored = store.findById(created.getId()).orElseThrow().getStatus();
+        }
+        assertEquals(TodoStatus.PAST_DUE, stored);
+    }
 }
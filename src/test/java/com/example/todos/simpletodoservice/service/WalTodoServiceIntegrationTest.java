@@ -0,0 +1,10 @@
+package com.example.todos.simpletodoservice.service;
+
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+
+/* Runs every TodoServiceIntegrationTest case against the write-ahead-log storage engine */
+@ActiveProfiles("wal")
+@TestPropertySource(properties = "todos.storage.wal.directory=target/wal-test/${random.uuid}")
+public class WalTodoServiceIntegrationTest extends TodoServiceIntegrationTest {
+}